@@ -0,0 +1,222 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class AdaptiveSizer implements AutoCloseable
+{
+  private static final double GROWTH_GRADIENT = 1.5;
+  private final Pool pool;
+  private final int min;
+  private final int max;
+  private final long intervalNanos;
+  private final ScheduledFuture<?> ticker;
+  private final LongAdder arrivals = new LongAdder();
+  private final LongAdder completions = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAdder serviceNanos = new LongAdder();
+  private volatile double arrivalRate;
+  private volatile double meanQueueWaitNanos;
+  private volatile double meanServiceNanos;
+  private int limit;
+  private boolean pinned;
+
+  public AdaptiveSizer(ExecutorService executor, int min, int max, long intervalMillis, boolean adaptive)
+  {
+    this(Pool.of(executor).orElseThrow(() ->
+      new IllegalArgumentException("Cannot resize " + executor.getClass().getName())), min, max, intervalMillis,
+      adaptive);
+  }
+
+  private AdaptiveSizer(Pool pool, int min, int max, long intervalMillis, boolean adaptive)
+  {
+    if (min < 1 || max < min)
+      throw new IllegalArgumentException("Pool size bounds must be positive and ordered: " + min + ", " + max);
+    this.pool = pool;
+    this.min = min;
+    this.max = max;
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    this.limit = pool.size();
+    this.ticker = adaptive ? Delays.scheduleAtFixedRate(this::adjust, intervalMillis, TimeUnit.MILLISECONDS) : null;
+  }
+
+  public static Optional<AdaptiveSizer> of(ExecutorService executor)
+  {
+    return Pool.of(executor).map(pool -> new AdaptiveSizer(pool,
+      Settings.get("executors.adaptive.min", Integer.class, 1),
+      Settings.get("executors.adaptive.max", Integer.class, 4 * Runtime.getRuntime().availableProcessors()),
+      Settings.get("executors.adaptive.interval-ms", Long.class, 1000L),
+      Settings.get("executors.adaptive.enabled", Boolean.class, false)));
+  }
+
+  public boolean isAdaptive()
+  {
+    return ticker != null;
+  }
+
+  public Runnable wrap(Runnable task)
+  {
+    if (ticker == null)
+      return task;
+    arrivals.increment();
+    return new Measured(task, System.nanoTime());
+  }
+
+  public synchronized int limit()
+  {
+    return limit;
+  }
+
+  public synchronized void pin(int size)
+  {
+    if (size < min || size > max)
+      throw new IllegalArgumentException("Pool size must be between " + min + " and " + max + ": " + size);
+    pinned = true;
+    resize(size);
+  }
+
+  public synchronized void unpin()
+  {
+    pinned = false;
+  }
+
+  private void adjust()
+  {
+    double seconds = intervalNanos / 1e9;
+    long completed = completions.sumThenReset();
+    arrivalRate = arrivals.sumThenReset() / seconds;
+    meanQueueWaitNanos = completed > 0 ? (double) queueWaitNanos.sumThenReset() / completed : 0;
+    meanServiceNanos = completed > 0 ? (double) serviceNanos.sumThenReset() / completed : 0;
+    synchronized (this)
+    {
+      if (pinned)
+        return;
+      resize(Math.clamp(target(limit, arrivalRate, meanQueueWaitNanos, meanServiceNanos), min, max));
+    }
+  }
+
+  public static int target(int limit, double arrivalRate, double meanQueueWaitNanos, double meanServiceNanos)
+  {
+    int target = (int) Math.ceil(arrivalRate * meanServiceNanos / 1e9);
+    if (meanServiceNanos > 0 && (meanQueueWaitNanos + meanServiceNanos) / meanServiceNanos > GROWTH_GRADIENT)
+      return Math.max(target, limit + (int) Math.ceil(Math.sqrt(limit)));
+    if (target < limit)
+      return Math.max(target, limit - Math.max(1, limit / 4));
+    return target;
+  }
+
+  private void resize(int size)
+  {
+    if (size == limit)
+      return;
+    pool.resize(size);
+    limit = size;
+  }
+
+  @Override
+  public synchronized String toString()
+  {
+    return String.format(Locale.ROOT,
+      "limit=%d pinned=%b adaptive=%b min=%d max=%d arrivalRate=%.1f/s queueWait=%.3fms serviceTime=%.3fms",
+      limit, pinned, isAdaptive(), min, max, arrivalRate, meanQueueWaitNanos / 1e6, meanServiceNanos / 1e6);
+  }
+
+  @Override
+  public void close()
+  {
+    if (ticker != null)
+      ticker.cancel(false);
+  }
+
+  private final class Measured implements DelegatingTask
+  {
+    private final Runnable task;
+    private final long submittedNanos;
+
+    private Measured(Runnable task, long submittedNanos)
+    {
+      this.task = task;
+      this.submittedNanos = submittedNanos;
+    }
+
+    @Override
+    public Runnable delegate()
+    {
+      return task;
+    }
+
+    @Override
+    public void run()
+    {
+      long started = System.nanoTime();
+      queueWaitNanos.add(started - submittedNanos);
+      try
+      {
+        task.run();
+      }
+      finally
+      {
+        serviceNanos.add(System.nanoTime() - started);
+        completions.increment();
+      }
+    }
+  }
+
+  private sealed interface Pool permits ThreadPool, WorkStealingPool
+  {
+    int size();
+
+    void resize(int size);
+
+    static Optional<Pool> of(ExecutorService executor)
+    {
+      return switch (executor)
+      {
+        case ThreadPoolExecutor pool -> Optional.of(new ThreadPool(pool));
+        case ForkJoinPool pool when pool != ForkJoinPool.commonPool() -> Optional.of(new WorkStealingPool(pool));
+        default -> Optional.empty();
+      };
+    }
+  }
+
+  private record ThreadPool(ThreadPoolExecutor pool) implements Pool
+  {
+    @Override
+    public int size()
+    {
+      return pool.getCorePoolSize();
+    }
+
+    @Override
+    public void resize(int size)
+    {
+      if (size > pool.getMaximumPoolSize())
+      {
+        pool.setMaximumPoolSize(size);
+        pool.setCorePoolSize(size);
+      }
+      else
+      {
+        pool.setCorePoolSize(size);
+        if (!(pool instanceof ScheduledThreadPoolExecutor))
+          pool.setMaximumPoolSize(size);
+      }
+    }
+  }
+
+  private record WorkStealingPool(ForkJoinPool pool) implements Pool
+  {
+    @Override
+    public int size()
+    {
+      return pool.getParallelism();
+    }
+
+    @Override
+    public void resize(int size)
+    {
+      pool.setParallelism(size);
+    }
+  }
+}
@@ -1,86 +1,219 @@
 package fr.simplex_software.workshop.executors.base;
 
+import io.micrometer.core.instrument.*;
+import io.vertx.core.http.*;
 import jakarta.annotation.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
 import org.slf4j.*;
 
-import java.net.*;
-import java.nio.charset.*;
-import java.time.*;
-import java.time.format.*;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.*;
 
 @Produces(MediaType.TEXT_PLAIN)
 public abstract class BaseTimeResource
 {
-  protected static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
+  protected static final String FMT = ZoneCache.FMT;
   protected ExecutorService executor;
+  protected ExecutorService instrumentedExecutor;
+  protected DelayMode delayMode;
+  protected AdaptiveSizer sizer;
+  protected String strategy;
+  protected boolean admin;
   protected static final Logger LOG = LoggerFactory.getLogger(BaseTimeResource.class);
   protected static final String MSG = "BaseTimeResource.getCurrentDateAndTimeAsync() *** Executor: {}";
+  private static final int MAX_WARM_UP_REJECTIONS = 1000;
 
   @PostConstruct
   public void postConstruct()
   {
+    strategy = strategyName();
     executor = getExecutor();
+    sizer = AdaptiveSizer.of(executor).orElse(null);
+    instrumentedExecutor = Settings.get("executors.metrics.enabled", Boolean.class, true) ?
+      new InstrumentedExecutorService(executor, strategy, Metrics.globalRegistry) : executor;
+    delayMode = Settings.get("executors.delay.mode", DelayMode.class, DelayMode.BLOCKING);
+    admin = Settings.get("executors.admin.enabled", Boolean.class, false);
   }
 
   @PreDestroy
   void cleanup()
   {
-    executor.shutdown();
+    if (sizer != null)
+      sizer.close();
+    instrumentedExecutor.shutdown();
   }
 
   @GET
-  public void getCurrentDateAndTimeAsync(@QueryParam("delay") @DefaultValue("0") int delay, @Suspended AsyncResponse asyncResponse)
+  public void getCurrentDateAndTimeAsync(@QueryParam("delay") @DefaultValue("0") int delay,
+                                         @QueryParam("delayMode") DelayMode delayMode,
+                                         @QueryParam("timeout") String timeout,
+                                         @HeaderParam(Deadline.HEADER) String timeoutHeader,
+                                         @Context HttpServerRequest request,
+                                         @Suspended AsyncResponse asyncResponse)
   {
     LOG.debug(MSG);
-    executor.submit(() ->
-    {
-      LOG.debug(MSG, executor.getClass().getName());
-      try
-      {
-        Thread.sleep(delay * 1000L);
-        asyncResponse.resume(getCurrentDateAndTimeAtDefaultZone());
-      }
-      catch (Exception e)
-      {
-        executor.shutdown();
-        asyncResponse.resume(e);
-      }
-    });
+    submit("default", ZoneCache.systemDefault().zoneId().getId(), clientOf(request), delay, delayMode,
+      this::getCurrentDateAndTimeAtDefaultZone, asyncResponse, Deadline.of(strategy, timeout, timeoutHeader));
   }
 
   @GET
   @Path("{zoneId}")
-  public void getCurrentDateAndTimeAtZoneAsync(@PathParam("zoneId") String zoneId, @QueryParam("delay") @DefaultValue("0") int delay, @Suspended AsyncResponse asyncResponse)
+  public void getCurrentDateAndTimeAtZoneAsync(@PathParam("zoneId") String zoneId,
+                                               @QueryParam("delay") @DefaultValue("0") int delay,
+                                               @QueryParam("delayMode") DelayMode delayMode,
+                                               @QueryParam("timeout") String timeout,
+                                               @HeaderParam(Deadline.HEADER) String timeoutHeader,
+                                               @Context HttpServerRequest request,
+                                               @Suspended AsyncResponse asyncResponse)
+  {
+    submit("zone", zoneId, clientOf(request), delay, delayMode, () -> getCurrentDateAndTimeAtZone(zoneId),
+      asyncResponse, Deadline.of(strategy, timeout, timeoutHeader));
+  }
+
+  protected void submit(String endpoint, String zone, String client, int delay, DelayMode delayMode,
+                        Supplier<String> time, AsyncResponse asyncResponse, Deadline deadline)
+  {
+    LOG.debug(MSG, executor.getClass().getName());
+    if (!deadline.watch(asyncResponse, delay * 1000L).admits(delay * 1000L))
+      return;
+    Executor target = executorFor(endpoint, delay);
+    if (delay > 0 && (delayMode != null ? delayMode : this.delayMode) == DelayMode.TIMER)
+    {
+      TimeTask task = new TimeTask(strategy, endpoint, zone, client, delay, time, 0, asyncResponse, deadline);
+      ScheduledFuture<?> timer = Delays.schedule(() -> execute(target, task), delay, TimeUnit.SECONDS);
+      deadline.onCancel(() -> timer.cancel(false));
+    }
+    else
+      execute(target,
+        new TimeTask(strategy, endpoint, zone, client, delay, time, delay * 1000L, asyncResponse, deadline));
+  }
+
+  protected String clientOf(HttpServerRequest request)
+  {
+    return null;
+  }
+
+  protected Executor executorFor(String endpoint, int delay)
+  {
+    return instrumentedExecutor;
+  }
+
+  protected void execute(Executor target, TimeTask task)
+  {
+    task.submitted();
+    try
+    {
+      target.execute(sizer != null ? sizer.wrap(task) : task);
+    }
+    catch (RejectedExecutionException e)
+    {
+      task.reject();
+    }
+  }
+
+  @GET
+  @Path("admin/limit")
+  public String getLimit()
+  {
+    return resizableSizer().toString();
+  }
+
+  @PUT
+  @Path("admin/limit")
+  public String pinLimit(@QueryParam("value") int value)
   {
-    executor.submit(() ->
+    AdaptiveSizer adaptiveSizer = resizableSizer();
+    try
+    {
+      adaptiveSizer.pin(value);
+    }
+    catch (IllegalArgumentException e)
     {
+      throw new BadRequestException(e.getMessage());
+    }
+    return adaptiveSizer.toString();
+  }
+
+  @DELETE
+  @Path("admin/limit")
+  public String unpinLimit()
+  {
+    AdaptiveSizer adaptiveSizer = resizableSizer();
+    adaptiveSizer.unpin();
+    return adaptiveSizer.toString();
+  }
+
+  void warmUp(int requests, List<String> zones, int batchSize) throws InterruptedException, ExecutionException
+  {
+    if (executor instanceof ThreadPoolExecutor pool)
+      pool.prestartAllCoreThreads();
+    List<Future<String>> batch = new ArrayList<>(batchSize);
+    int rejections = 0;
+    for (int i = 0; i < requests; )
+    {
+      int size = Math.max(1, Math.min(batchSize, remainingCapacity()));
       try
       {
-        Thread.sleep(delay * 1000L);
-        asyncResponse.resume(getCurrentDateAndTimeAtZone(zoneId));
+        for (; batch.size() < size && i < requests; i++)
+        {
+          String zone = zones.get(i % zones.size());
+          batch.add(executor.submit(i % 2 == 0 ? this::getCurrentDateAndTimeAtDefaultZone :
+            () -> getCurrentDateAndTimeAtZone(zone)));
+        }
+        rejections = 0;
       }
-      catch (Exception e)
+      catch (RejectedExecutionException e)
       {
-        asyncResponse.resume(e);
+        if (executor.isShutdown() || ++rejections > MAX_WARM_UP_REJECTIONS)
+          throw e;
+        if (batch.isEmpty())
+          Thread.sleep(1);
       }
-    });
+      for (Future<String> result : batch)
+        result.get();
+      batch.clear();
+    }
+  }
+
+  protected int remainingCapacity()
+  {
+    return switch (executor)
+    {
+      case ThreadPoolExecutor pool -> pool.getQueue().remainingCapacity();
+      case BoundedThreadPerTaskExecutor pool -> pool.getRemainingCapacity();
+      default -> Integer.MAX_VALUE;
+    };
+  }
+
+  private AdaptiveSizer resizableSizer()
+  {
+    if (!admin)
+      throw new NotFoundException();
+    if (sizer == null)
+      throw new WebApplicationException("The executor " + executor.getClass().getName() + " cannot be resized",
+        Response.Status.CONFLICT);
+    return sizer;
+  }
+
+  protected String strategyName()
+  {
+    for (Class<?> type = getClass(); type != null; type = type.getSuperclass())
+      if (type.isAnnotationPresent(Path.class))
+        return type.getAnnotation(Path.class).value();
+    return getClass().getSimpleName();
   }
 
   protected String getCurrentDateAndTimeAtDefaultZone()
   {
-    return ZonedDateTime.now(ZoneId.systemDefault()).format(DateTimeFormatter
-      .ofPattern(FMT).withZone(ZoneId.systemDefault()));
+    return ZoneCache.systemDefault().now();
   }
 
   protected String getCurrentDateAndTimeAtZone(String zoneId)
   {
-    String decodedZoneId = URLDecoder.decode(zoneId, StandardCharsets.UTF_8);
-    return ZonedDateTime.now(ZoneId.of(decodedZoneId)).format(DateTimeFormatter
-      .ofPattern(FMT).withZone(ZoneId.of(decodedZoneId)));
+    return ZoneCache.of(zoneId).now();
   }
 
   protected abstract ExecutorService getExecutor();
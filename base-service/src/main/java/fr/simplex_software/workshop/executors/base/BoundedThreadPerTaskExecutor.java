@@ -0,0 +1,173 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class BoundedThreadPerTaskExecutor extends AbstractExecutorService
+{
+  private final ThreadFactory threadFactory;
+  private final int maximumPoolSize;
+  private final BlockingQueue<Runnable> queue;
+  private final AtomicInteger poolSize = new AtomicInteger();
+  private final AtomicInteger largestPoolSize = new AtomicInteger();
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+  private final CountDownLatch terminated = new CountDownLatch(1);
+  private volatile boolean shutdown;
+
+  public BoundedThreadPerTaskExecutor(ThreadFactory threadFactory, int maximumPoolSize, int queueCapacity)
+  {
+    if (maximumPoolSize < 1 || queueCapacity < 0)
+      throw new IllegalArgumentException("maximumPoolSize must be positive and queueCapacity not negative");
+    this.threadFactory = threadFactory;
+    this.maximumPoolSize = maximumPoolSize;
+    this.queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : null;
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    Objects.requireNonNull(command);
+    if (shutdown)
+      TimeTask.reject(command);
+    else if (tryAcquire())
+      start(command);
+    else if (queue != null && queue.offer(command))
+      drain();
+    else
+      TimeTask.reject(command);
+  }
+
+  private boolean tryAcquire()
+  {
+    for (int size = poolSize.get(); size < maximumPoolSize; size = poolSize.get())
+      if (poolSize.compareAndSet(size, size + 1))
+      {
+        largestPoolSize.accumulateAndGet(size + 1, Math::max);
+        return true;
+      }
+    return false;
+  }
+
+  private void release()
+  {
+    poolSize.decrementAndGet();
+  }
+
+  private void start(Runnable task)
+  {
+    Thread thread = threadFactory.newThread(() -> runTask(task));
+    if (thread == null)
+    {
+      release();
+      TimeTask.reject(task);
+      return;
+    }
+    threads.add(thread);
+    try
+    {
+      thread.start();
+    }
+    catch (Throwable e)
+    {
+      threads.remove(thread);
+      release();
+      throw e;
+    }
+  }
+
+  private void runTask(Runnable task)
+  {
+    try
+    {
+      task.run();
+    }
+    finally
+    {
+      threads.remove(Thread.currentThread());
+      release();
+      drain();
+      tryTerminate();
+    }
+  }
+
+  private void drain()
+  {
+    while (queue != null && !queue.isEmpty() && tryAcquire())
+    {
+      Runnable next = queue.poll();
+      if (next == null)
+        release();
+      else
+        start(next);
+    }
+  }
+
+  private void tryTerminate()
+  {
+    if (shutdown && poolSize.get() == 0 && (queue == null || queue.isEmpty()))
+      terminated.countDown();
+  }
+
+  public int getPoolSize()
+  {
+    return poolSize.get();
+  }
+
+  public int getLargestPoolSize()
+  {
+    return largestPoolSize.get();
+  }
+
+  public int getMaximumPoolSize()
+  {
+    return maximumPoolSize;
+  }
+
+  public int getQueueSize()
+  {
+    return queue != null ? queue.size() : 0;
+  }
+
+  public int getRemainingCapacity()
+  {
+    return maximumPoolSize - poolSize.get() + (queue != null ? queue.remainingCapacity() : 0);
+  }
+
+  @Override
+  public void shutdown()
+  {
+    shutdown = true;
+    tryTerminate();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow()
+  {
+    shutdown = true;
+    List<Runnable> pending = new ArrayList<>();
+    if (queue != null)
+      queue.drainTo(pending);
+    threads.forEach(Thread::interrupt);
+    tryTerminate();
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown()
+  {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated()
+  {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return terminated.await(timeout, unit);
+  }
+}
@@ -0,0 +1,212 @@
+package fr.simplex_software.workshop.executors.base;
+
+import io.micrometer.core.instrument.*;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.regex.*;
+
+public final class Deadline
+{
+  public static final String HEADER = "X-Request-Timeout";
+  private static final Duration DEFAULT_TIMEOUT =
+    Settings.get("executors.deadline.default-timeout", Duration.class, Duration.ofSeconds(60));
+  private static final Pattern TIMEOUT = Pattern.compile("(\\d+)\\s*(ms|s|m)?");
+  private static final long MAX_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+  private final String strategy;
+  private final long timeoutMillis;
+  private final long expiresAtNanos;
+  private final List<Runnable> cancellations = new ArrayList<>();
+  private volatile boolean cancelled;
+  private AsyncResponse asyncResponse;
+  private Thread runner;
+
+  private Deadline(String strategy, long timeoutMillis)
+  {
+    this.strategy = strategy;
+    this.timeoutMillis = timeoutMillis;
+    this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+  }
+
+  public static Deadline none(String strategy)
+  {
+    return new Deadline(strategy, 0);
+  }
+
+  public static Deadline of(String strategy, String timeout, String timeoutHeader)
+  {
+    String value = timeout != null ? timeout : timeoutHeader;
+    return new Deadline(strategy, value != null ? parse(value) : DEFAULT_TIMEOUT.toMillis());
+  }
+
+  public static long parse(String timeout)
+  {
+    Matcher matcher = TIMEOUT.matcher(timeout.trim());
+    if (!matcher.matches())
+      throw new BadRequestException("Invalid timeout " + timeout + ", expected a number of ms, s or m");
+    long amount;
+    try
+    {
+      amount = Long.parseLong(matcher.group(1));
+    }
+    catch (NumberFormatException e)
+    {
+      amount = Long.MAX_VALUE;
+    }
+    long millis = switch (matcher.group(2) == null ? "ms" : matcher.group(2))
+    {
+      case "s" -> TimeUnit.SECONDS.toMillis(amount);
+      case "m" -> TimeUnit.MINUTES.toMillis(amount);
+      default -> amount;
+    };
+    if (millis < 1 || millis > MAX_TIMEOUT_MILLIS)
+      throw new BadRequestException("Invalid timeout " + timeout + ", expected between 1 ms and 60 m");
+    return millis;
+  }
+
+  public Deadline watch(AsyncResponse asyncResponse, long sleepMillis)
+  {
+    synchronized (cancellations)
+    {
+      this.asyncResponse = asyncResponse;
+    }
+    if (sleepMillis <= 0)
+      return this;
+    if (timeoutMillis > 0)
+    {
+      asyncResponse.setTimeoutHandler(response -> cancel("deadline"));
+      asyncResponse.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    asyncResponse.register((ConnectionCallback) response -> cancel("disconnect"));
+    return this;
+  }
+
+  public long timeoutMillis()
+  {
+    return timeoutMillis;
+  }
+
+  public long remainingMillis()
+  {
+    return timeoutMillis > 0 ? TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()) : Long.MAX_VALUE;
+  }
+
+  public boolean isCancelled()
+  {
+    return cancelled || timeoutMillis > 0 && System.nanoTime() - expiresAtNanos >= 0;
+  }
+
+  public boolean admits(long sleepMillis)
+  {
+    if (isCancelled() || sleepMillis >= remainingMillis())
+    {
+      cancel("deadline");
+      return false;
+    }
+    return true;
+  }
+
+  public void onCancel(Runnable cancellation)
+  {
+    synchronized (cancellations)
+    {
+      if (!cancelled)
+      {
+        cancellations.add(cancellation);
+        return;
+      }
+    }
+    cancellation.run();
+  }
+
+  public void cancel(String reason)
+  {
+    List<Runnable> pending;
+    AsyncResponse response;
+    synchronized (cancellations)
+    {
+      if (cancelled)
+        return;
+      cancelled = true;
+      pending = List.copyOf(cancellations);
+      cancellations.clear();
+      response = asyncResponse;
+      if (runner != null)
+      {
+        runner.interrupt();
+        dropped("running");
+      }
+    }
+    Metrics.counter("executors.deadline.cancelled", "strategy", strategy, "reason", reason).increment();
+    pending.forEach(Runnable::run);
+    if (response != null && !"disconnect".equals(reason))
+      response.resume(new ServiceUnavailableException());
+  }
+
+  public boolean enter()
+  {
+    synchronized (cancellations)
+    {
+      if (!isCancelled())
+      {
+        runner = Thread.currentThread();
+        return true;
+      }
+    }
+    dropped("queued");
+    cancel("deadline");
+    return false;
+  }
+
+  public void exit()
+  {
+    synchronized (cancellations)
+    {
+      runner = null;
+    }
+    if (cancelled)
+      Thread.interrupted();
+  }
+
+  public void sleep(long millis) throws InterruptedException
+  {
+    if (millis <= 0)
+      return;
+    if (!admits(millis))
+      throw new ServiceUnavailableException();
+    try
+    {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException e)
+    {
+      if (cancelled)
+        throw new ServiceUnavailableException();
+      throw e;
+    }
+  }
+
+  public <T> T call(long sleepMillis, Supplier<T> result) throws InterruptedException
+  {
+    if (!enter())
+      throw new ServiceUnavailableException();
+    try
+    {
+      sleep(sleepMillis);
+      return result.get();
+    }
+    finally
+    {
+      exit();
+    }
+  }
+
+  private void dropped(String stage)
+  {
+    Metrics.counter("executors.deadline.dropped", "strategy", strategy, "stage", stage).increment();
+  }
+}
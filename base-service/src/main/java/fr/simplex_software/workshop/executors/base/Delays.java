@@ -0,0 +1,56 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.time.*;
+import java.util.concurrent.*;
+
+public final class Delays
+{
+  private static final ThreadLocal<Boolean> TIMER_THREAD = ThreadLocal.withInitial(() -> false);
+  private static final ScheduledExecutorService TIMER =
+    Settings.get("executors.delay.timer", SchedulerMode.class, SchedulerMode.JDK) == SchedulerMode.WHEEL ?
+      wheelTimer() : jdkTimer();
+
+  private Delays()
+  {
+  }
+
+  private static ScheduledExecutorService jdkTimer()
+  {
+    ScheduledThreadPoolExecutor timer =
+      new ScheduledThreadPoolExecutor(1, timerThreads(Thread.ofPlatform().name("delay-timer").daemon().factory()));
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+
+  private static ScheduledExecutorService wheelTimer()
+  {
+    return new HashedWheelScheduler(Settings.get("executors.wheel.tick", Duration.class, Duration.ofMillis(10)),
+      Settings.get("executors.wheel.size", Integer.class, 512), Settings.get("executors.wheel.shards", Integer.class, 2),
+      Runnable::run, Settings.get("executors.wheel.batch-size", Integer.class, 64),
+      timerThreads(Thread.ofPlatform().name("delay-wheel-", 0).factory()));
+  }
+
+  private static ThreadFactory timerThreads(ThreadFactory factory)
+  {
+    return task -> factory.newThread(() ->
+    {
+      TIMER_THREAD.set(true);
+      task.run();
+    });
+  }
+
+  public static boolean isTimerThread()
+  {
+    return TIMER_THREAD.get();
+  }
+
+  public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit)
+  {
+    return TIMER.schedule(task, delay, unit);
+  }
+
+  public static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit)
+  {
+    return TIMER.scheduleAtFixedRate(task, period, period, unit);
+  }
+}
@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.base;
+
+public interface DelegatingTask extends Runnable
+{
+  Runnable delegate();
+
+  default void onReject()
+  {
+  }
+
+  static Runnable unwrap(Runnable task)
+  {
+    while (task instanceof DelegatingTask delegating)
+      task = delegating.delegate();
+    return task;
+  }
+}
@@ -0,0 +1,433 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class HashedWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService
+{
+  private final long tickNanos;
+  private final int mask;
+  private final Executor executor;
+  private final int batchSize;
+  private final Shard[] shards;
+  private final long startNanos = System.nanoTime();
+  private final CountDownLatch terminated;
+  private volatile boolean shutdown;
+  private volatile boolean stopped;
+
+  public HashedWheelScheduler(Duration tick, int wheelSize, int shardCount, Executor executor, int batchSize,
+                              ThreadFactory threadFactory)
+  {
+    if (tick.toNanos() < 1 || wheelSize < 1 || shardCount < 1 || batchSize < 1)
+      throw new IllegalArgumentException("tick, wheelSize, shardCount and batchSize must be positive");
+    this.tickNanos = tick.toNanos();
+    this.mask = (wheelSize > 1 ? Integer.highestOneBit(wheelSize - 1) << 1 : 1) - 1;
+    this.executor = executor;
+    this.batchSize = batchSize;
+    this.shards = new Shard[shardCount];
+    this.terminated = new CountDownLatch(shardCount);
+    for (int i = 0; i < shardCount; i++)
+    {
+      shards[i] = new Shard();
+      Thread thread = threadFactory.newThread(shards[i]);
+      thread.setDaemon(true);
+      shards[i].thread = thread;
+      thread.start();
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit)
+  {
+    return add(Executors.callable(Objects.requireNonNull(command), null), triggerTime(delay, unit), 0);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit)
+  {
+    return add(Objects.requireNonNull(callable), triggerTime(delay, unit), 0);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit)
+  {
+    if (period <= 0)
+      throw new IllegalArgumentException("The period must be positive");
+    return add(Executors.callable(Objects.requireNonNull(command), null), triggerTime(initialDelay, unit),
+      unit.toNanos(period));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit)
+  {
+    if (delay <= 0)
+      throw new IllegalArgumentException("The delay must be positive");
+    return add(Executors.callable(Objects.requireNonNull(command), null), triggerTime(initialDelay, unit),
+      -unit.toNanos(delay));
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    Objects.requireNonNull(command);
+    if (shutdown)
+      throw new RejectedExecutionException("The scheduler is shut down");
+    executor.execute(command);
+  }
+
+  private long triggerTime(long delay, TimeUnit unit)
+  {
+    return System.nanoTime() + Math.max(0, Math.min(unit.toNanos(delay), Long.MAX_VALUE >> 1));
+  }
+
+  private <V> WheelTask<V> add(Callable<V> callable, long deadlineNanos, long period)
+  {
+    if (shutdown)
+      throw new RejectedExecutionException("The scheduler is shut down");
+    WheelTask<V> task = new WheelTask<>(callable, deadlineNanos, period,
+      shards[(int) (Thread.currentThread().threadId() % shards.length)]);
+    task.shard.pending.increment();
+    task.shard.added.add(task);
+    if (shutdown && task.shard.added.remove(task))
+    {
+      task.shard.pending.decrement();
+      throw new RejectedExecutionException("The scheduler is shut down");
+    }
+    return task;
+  }
+
+  public long getPendingCount()
+  {
+    long pending = 0;
+    for (Shard shard : shards)
+      pending += shard.pending.sum();
+    return pending;
+  }
+
+  public int getShardCount()
+  {
+    return shards.length;
+  }
+
+  public Duration getTick()
+  {
+    return Duration.ofNanos(tickNanos);
+  }
+
+  @Override
+  public void shutdown()
+  {
+    shutdown = true;
+  }
+
+  @Override
+  public List<Runnable> shutdownNow()
+  {
+    shutdown = true;
+    stopped = true;
+    for (Shard shard : shards)
+      shard.thread.interrupt();
+    List<Runnable> pending = new ArrayList<>();
+    try
+    {
+      awaitTermination(1, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+    for (Shard shard : shards)
+      pending.addAll(shard.unprocessed);
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown()
+  {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated()
+  {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return terminated.await(timeout, unit);
+  }
+
+  private void dispatch(List<WheelTask<?>> expired)
+  {
+    for (int from = 0; from < expired.size(); from += batchSize)
+    {
+      List<WheelTask<?>> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+      try
+      {
+        executor.execute(new Batch(List.copyOf(batch)));
+      }
+      catch (RejectedExecutionException e)
+      {
+        batch.forEach(task -> task.cancel(false));
+      }
+    }
+  }
+
+  private record Batch(List<WheelTask<?>> tasks) implements Runnable
+  {
+    @Override
+    public void run()
+    {
+      tasks.forEach(WheelTask::run);
+    }
+  }
+
+  private final class Shard implements Runnable
+  {
+    private final Bucket[] wheel = new Bucket[mask + 1];
+    private final Queue<WheelTask<?>> added = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final LongAdder pending = new LongAdder();
+    private final List<Runnable> unprocessed = new ArrayList<>();
+    private Thread thread;
+    private long tick;
+    private boolean draining;
+
+    private Shard()
+    {
+      for (int i = 0; i < wheel.length; i++)
+        wheel[i] = new Bucket();
+    }
+
+    @Override
+    public void run()
+    {
+      try
+      {
+        List<WheelTask<?>> expired = new ArrayList<>();
+        while (!(shutdown && pending.sum() == 0) && waitForNextTick())
+        {
+          removeCancelled();
+          transferAdded();
+          if (shutdown && !draining)
+          {
+            draining = true;
+            for (Bucket bucket : wheel)
+              pending.add(-bucket.cancelPeriodic());
+          }
+          wheel[(int) (tick & mask)].expire(startNanos + (tick + 1) * tickNanos, expired);
+          tick++;
+          if (!expired.isEmpty())
+          {
+            pending.add(-expired.size());
+            dispatch(expired);
+            expired.clear();
+          }
+        }
+      }
+      finally
+      {
+        for (Bucket bucket : wheel)
+          bucket.drainTo(unprocessed);
+        for (WheelTask<?> task = added.poll(); task != null; task = added.poll())
+          if (!task.isCancelled())
+            unprocessed.add(task);
+        unprocessed.forEach(task -> ((WheelTask<?>) task).cancel(false));
+        terminated.countDown();
+      }
+    }
+
+    private boolean waitForNextTick()
+    {
+      long deadline = startNanos + (tick + 1) * tickNanos;
+      for (long sleep = deadline - System.nanoTime(); sleep > 0; sleep = deadline - System.nanoTime())
+        try
+        {
+          TimeUnit.NANOSECONDS.sleep(sleep);
+        }
+        catch (InterruptedException e)
+        {
+          if (stopped)
+            return false;
+        }
+      return true;
+    }
+
+    private void transferAdded()
+    {
+      for (WheelTask<?> task = added.poll(); task != null; task = added.poll())
+      {
+        if (shutdown && task.isPeriodic())
+          task.cancel(false);
+        if (task.isCancelled())
+        {
+          pending.decrement();
+          continue;
+        }
+        long ticks = Math.max((task.deadlineNanos - startNanos) / tickNanos, tick);
+        task.remainingRounds = (ticks - tick) / wheel.length;
+        wheel[(int) (ticks & mask)].add(task);
+      }
+    }
+
+    private void removeCancelled()
+    {
+      for (WheelTask<?> task = cancelled.poll(); task != null; task = cancelled.poll())
+        if (task.bucket != null)
+        {
+          task.bucket.remove(task);
+          pending.decrement();
+        }
+    }
+  }
+
+  private static final class Bucket
+  {
+    private WheelTask<?> head;
+    private WheelTask<?> tail;
+
+    private void add(WheelTask<?> task)
+    {
+      task.bucket = this;
+      if (head == null)
+        head = tail = task;
+      else
+      {
+        tail.next = task;
+        task.prev = tail;
+        tail = task;
+      }
+    }
+
+    private void remove(WheelTask<?> task)
+    {
+      if (task.prev != null)
+        task.prev.next = task.next;
+      else
+        head = task.next;
+      if (task.next != null)
+        task.next.prev = task.prev;
+      else
+        tail = task.prev;
+      task.prev = task.next = null;
+      task.bucket = null;
+    }
+
+    private void expire(long tickEndNanos, List<WheelTask<?>> expired)
+    {
+      WheelTask<?> task = head;
+      while (task != null)
+      {
+        WheelTask<?> next = task.next;
+        if (task.remainingRounds <= 0 && task.deadlineNanos - tickEndNanos <= 0)
+        {
+          remove(task);
+          expired.add(task);
+        }
+        else if (task.remainingRounds > 0)
+          task.remainingRounds--;
+        task = next;
+      }
+    }
+
+    private int cancelPeriodic()
+    {
+      int cancelled = 0;
+      for (WheelTask<?> task = head, next; task != null; task = next)
+      {
+        next = task.next;
+        if (task.isPeriodic())
+        {
+          remove(task);
+          task.cancel(false);
+          cancelled++;
+        }
+      }
+      return cancelled;
+    }
+
+    private void drainTo(List<Runnable> tasks)
+    {
+      while (head != null)
+      {
+        WheelTask<?> task = head;
+        remove(task);
+        if (!task.isCancelled())
+          tasks.add(task);
+      }
+    }
+  }
+
+  private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V>
+  {
+    private final long period;
+    private final Shard shard;
+    private volatile long deadlineNanos;
+    private Bucket bucket;
+    private WheelTask<?> next;
+    private WheelTask<?> prev;
+    private long remainingRounds;
+
+    private WheelTask(Callable<V> callable, long deadlineNanos, long period, Shard shard)
+    {
+      super(callable);
+      this.deadlineNanos = deadlineNanos;
+      this.period = period;
+      this.shard = shard;
+    }
+
+    @Override
+    public boolean isPeriodic()
+    {
+      return period != 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit)
+    {
+      return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other)
+    {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void run()
+    {
+      if (!isPeriodic())
+        super.run();
+      else if (runAndReset())
+      {
+        if (shutdown)
+          cancel(false);
+        else
+        {
+          deadlineNanos = period > 0 ? deadlineNanos + period : System.nanoTime() - period;
+          shard.pending.increment();
+          shard.added.add(this);
+          if (shutdown && shard.added.remove(this))
+          {
+            shard.pending.decrement();
+            cancel(false);
+          }
+        }
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled)
+        shard.cancelled.add(this);
+      return cancelled;
+    }
+  }
+}
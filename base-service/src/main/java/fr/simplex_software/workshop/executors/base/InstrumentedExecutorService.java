@@ -0,0 +1,211 @@
+package fr.simplex_software.workshop.executors.base;
+
+import io.micrometer.core.instrument.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public class InstrumentedExecutorService extends AbstractExecutorService
+{
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+  private final ExecutorService delegate;
+  private final String module;
+  private final MeterRegistry registry;
+  private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+  private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+  public InstrumentedExecutorService(ExecutorService delegate, String module, MeterRegistry registry)
+  {
+    this.delegate = delegate;
+    this.module = module;
+    this.registry = registry;
+    registerExecutorGauges();
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    EndpointStats endpointStats = stats(DelegatingTask.unwrap(command) instanceof TimeTask task ? task.endpoint() : "other");
+    endpointStats.submitted.increment();
+    endpointStats.queued.increment();
+    try
+    {
+      delegate.execute(new Timed(command, endpointStats, System.nanoTime()));
+    }
+    catch (RejectedExecutionException e)
+    {
+      endpointStats.queued.decrement();
+      endpointStats.rejected.increment();
+      throw e;
+    }
+  }
+
+  private EndpointStats stats(String endpoint)
+  {
+    EndpointStats endpointStats = stats.get(endpoint);
+    return endpointStats != null ? endpointStats : stats.computeIfAbsent(endpoint, EndpointStats::new);
+  }
+
+  private void registerExecutorGauges()
+  {
+    Tags tags = Tags.of("module", module, "executor", delegate.getClass().getSimpleName());
+    switch (delegate)
+    {
+      case ForkJoinPool pool ->
+      {
+        gauge("executors.pool.steals", tags, pool, ForkJoinPool::getStealCount);
+        gauge("executors.pool.queued.tasks", tags, pool, ForkJoinPool::getQueuedTaskCount);
+        gauge("executors.pool.queued.submissions", tags, pool, ForkJoinPool::getQueuedSubmissionCount);
+        gauge("executors.pool.active.threads", tags, pool, ForkJoinPool::getActiveThreadCount);
+        gauge("executors.pool.size", tags, pool, ForkJoinPool::getPoolSize);
+        gauge("executors.pool.parallelism", tags, pool, ForkJoinPool::getParallelism);
+      }
+      case ThreadPoolExecutor pool ->
+      {
+        gauge("executors.pool.largest.size", tags, pool, ThreadPoolExecutor::getLargestPoolSize);
+        gauge("executors.pool.size", tags, pool, ThreadPoolExecutor::getPoolSize);
+        gauge("executors.pool.core.size", tags, pool, ThreadPoolExecutor::getCorePoolSize);
+        gauge("executors.pool.active.threads", tags, pool, ThreadPoolExecutor::getActiveCount);
+        gauge("executors.pool.queue.size", tags, pool, p -> p.getQueue().size());
+      }
+      case BoundedThreadPerTaskExecutor pool ->
+      {
+        gauge("executors.pool.largest.size", tags, pool, BoundedThreadPerTaskExecutor::getLargestPoolSize);
+        gauge("executors.pool.size", tags, pool, BoundedThreadPerTaskExecutor::getPoolSize);
+        gauge("executors.pool.max.size", tags, pool, BoundedThreadPerTaskExecutor::getMaximumPoolSize);
+        gauge("executors.pool.queue.size", tags, pool, BoundedThreadPerTaskExecutor::getQueueSize);
+      }
+      case HashedWheelScheduler wheel ->
+      {
+        gauge("executors.pool.queue.size", tags, wheel, HashedWheelScheduler::getPendingCount);
+      }
+      default ->
+      {
+      }
+    }
+  }
+
+  private <T> void gauge(String name, Tags tags, T target, ToDoubleFunction<T> value)
+  {
+    meters.add(Gauge.builder(name, target, value).tags(tags).register(registry));
+  }
+
+  @Override
+  public void shutdown()
+  {
+    meters.forEach(registry::remove);
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow()
+  {
+    meters.forEach(registry::remove);
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown()
+  {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated()
+  {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+  private final class EndpointStats
+  {
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final LogLinearHistogram queueWait = new LogLinearHistogram();
+    private final LogLinearHistogram execution = new LogLinearHistogram();
+
+    private EndpointStats(String endpoint)
+    {
+      Tags tags = Tags.of("module", module, "endpoint", endpoint);
+      counter("executors.tasks.submitted", tags, submitted);
+      counter("executors.tasks.completed", tags, completed);
+      counter("executors.tasks.rejected", tags, rejected);
+      gauge("executors.tasks.queued", tags, queued, LongAdder::sum);
+      gauge("executors.tasks.active", tags, active, LongAdder::sum);
+      histogram("executors.tasks.queue.wait", tags, queueWait);
+      histogram("executors.tasks.execution", tags, execution);
+    }
+
+    private void counter(String name, Tags tags, LongAdder adder)
+    {
+      meters.add(FunctionCounter.builder(name, adder, LongAdder::sum).tags(tags).register(registry));
+    }
+
+    private void histogram(String name, Tags tags, LogLinearHistogram histogram)
+    {
+      meters.add(FunctionCounter.builder(name + ".count", histogram, LogLinearHistogram::count)
+        .tags(tags).register(registry));
+      meters.add(FunctionCounter.builder(name + ".seconds.sum", histogram, h -> h.sum() / 1e9)
+        .tags(tags).register(registry));
+      for (double quantile : QUANTILES)
+        meters.add(Gauge.builder(name + ".seconds", histogram, h -> h.percentile(quantile) / 1e9)
+          .tags(tags).tag("quantile", Double.toString(quantile)).register(registry));
+    }
+  }
+
+  private static final class Timed implements DelegatingTask
+  {
+    private final Runnable task;
+    private final EndpointStats stats;
+    private final long submittedNanos;
+
+    private Timed(Runnable task, EndpointStats stats, long submittedNanos)
+    {
+      this.task = task;
+      this.stats = stats;
+      this.submittedNanos = submittedNanos;
+    }
+
+    @Override
+    public Runnable delegate()
+    {
+      return task;
+    }
+
+    @Override
+    public void onReject()
+    {
+      stats.queued.decrement();
+      stats.rejected.increment();
+    }
+
+    @Override
+    public void run()
+    {
+      long started = System.nanoTime();
+      stats.queued.decrement();
+      stats.active.increment();
+      stats.queueWait.record(started - submittedNanos);
+      try
+      {
+        task.run();
+      }
+      finally
+      {
+        stats.execution.record(System.nanoTime() - started);
+        stats.active.decrement();
+        stats.completed.increment();
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.util.concurrent.atomic.*;
+
+public class LogLinearHistogram
+{
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  public void record(long value)
+  {
+    long positive = Math.max(0, value);
+    counts.incrementAndGet(index(positive));
+    count.increment();
+    sum.add(positive);
+  }
+
+  public long count()
+  {
+    return count.sum();
+  }
+
+  public long sum()
+  {
+    return sum.sum();
+  }
+
+  public long percentile(double quantile)
+  {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++)
+      total += snapshot[i] = counts.get(i);
+    if (total == 0)
+      return 0;
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++)
+      if ((seen += snapshot[i]) >= rank)
+        return highestEquivalentValue(i);
+    return highestEquivalentValue(BUCKETS - 1);
+  }
+
+  static int index(long value)
+  {
+    if (value < 2 * SUB_BUCKETS)
+      return (int) value;
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return exponent * SUB_BUCKETS + (int) (value >>> exponent);
+  }
+
+  static long lowestEquivalentValue(int index)
+  {
+    if (index < 2 * SUB_BUCKETS)
+      return index;
+    int exponent = index / SUB_BUCKETS - 1;
+    return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << exponent;
+  }
+
+  static long highestEquivalentValue(int index)
+  {
+    return index == BUCKETS - 1 ? Long.MAX_VALUE : lowestEquivalentValue(index + 1) - 1;
+  }
+}
@@ -0,0 +1,108 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.lang.invoke.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+public final class ResponseTable implements AutoCloseable
+{
+  private final Map<ZoneId, Integer> slots = new HashMap<>();
+  private final TimestampRenderer[] renderers;
+  private final byte[] scratch;
+  private final ByteBuffer[] buffers = new ByteBuffer[2];
+  private final AtomicReference<Table> current = new AtomicReference<>();
+  private long generation;
+  private volatile long writing;
+  private Thread ticker;
+
+  public ResponseTable(Collection<ZoneId> zoneIds)
+  {
+    List<TimestampRenderer> list = new ArrayList<>();
+    for (ZoneId zoneId : zoneIds)
+      if (slots.putIfAbsent(zoneId, list.size()) == null)
+        list.add(new TimestampRenderer(zoneId));
+    renderers = list.toArray(TimestampRenderer[]::new);
+    scratch = new byte[renderers.length * TimestampRenderer.MAX_LENGTH];
+    for (int i = 0; i < buffers.length; i++)
+      buffers[i] = ByteBuffer.allocateDirect(scratch.length);
+  }
+
+  public static ResponseTable ofAvailableZones()
+  {
+    List<ZoneId> zoneIds = new ArrayList<>();
+    zoneIds.add(ZoneId.systemDefault());
+    new TreeSet<>(ZoneId.getAvailableZoneIds()).forEach(id -> zoneIds.add(ZoneId.of(id)));
+    return new ResponseTable(zoneIds);
+  }
+
+  public synchronized ResponseTable start()
+  {
+    if (ticker == null)
+    {
+      render(Math.floorDiv(System.currentTimeMillis(), 1000));
+      ticker = Thread.ofPlatform().name("response-table-ticker").daemon().start(this::tick);
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized void close()
+  {
+    if (ticker != null)
+      ticker.interrupt();
+  }
+
+  public int size()
+  {
+    return renderers.length;
+  }
+
+  public synchronized void render(long epochSecond)
+  {
+    int[] offsets = new int[renderers.length + 1];
+    for (int i = 0; i < renderers.length; i++)
+      offsets[i + 1] = offsets[i] + renderers[i].render(epochSecond, scratch, offsets[i]);
+    writing = ++generation;
+    VarHandle.releaseFence();
+    ByteBuffer bytes = buffers[(int) (generation % buffers.length)].put(0, scratch, 0, offsets[renderers.length]);
+    current.set(new Table(epochSecond, generation, bytes.asReadOnlyBuffer(), offsets));
+  }
+
+  public String get(ZoneId zoneId, long epochSecond)
+  {
+    Table table = current.get();
+    Integer slot = slots.get(zoneId);
+    if (table == null || table.epochSecond != epochSecond || slot == null)
+      return null;
+    byte[] bytes = new byte[table.offsets[slot + 1] - table.offsets[slot]];
+    table.bytes.get(table.offsets[slot], bytes);
+    VarHandle.acquireFence();
+    if (writing - table.generation >= buffers.length)
+      return null;
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private void tick()
+  {
+    try
+    {
+      while (!Thread.currentThread().isInterrupted())
+      {
+        long next = Math.floorDiv(System.currentTimeMillis(), 1000) + 1;
+        Thread.sleep(Math.max(0, next * 1000 - System.currentTimeMillis()));
+        render(Math.floorDiv(System.currentTimeMillis(), 1000));
+      }
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private record Table(long epochSecond, long generation, ByteBuffer bytes, int[] offsets)
+  {
+  }
+}
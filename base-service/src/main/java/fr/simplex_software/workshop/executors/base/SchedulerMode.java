@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.util.*;
+
+public enum SchedulerMode
+{
+  JDK, WHEEL;
+
+  public static SchedulerMode fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
@@ -0,0 +1,15 @@
+package fr.simplex_software.workshop.executors.base;
+
+import org.eclipse.microprofile.config.*;
+
+final class Settings
+{
+  private Settings()
+  {
+  }
+
+  static <T> T get(String name, Class<T> type, T defaultValue)
+  {
+    return ConfigProvider.getConfig(Settings.class.getClassLoader()).getOptionalValue(name, type).orElse(defaultValue);
+  }
+}
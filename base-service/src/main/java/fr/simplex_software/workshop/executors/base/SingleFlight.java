@@ -0,0 +1,64 @@
+package fr.simplex_software.workshop.executors.base;
+
+import io.vertx.core.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public final class SingleFlight<T>
+{
+  private final AtomicReference<Flight<T>> current = new AtomicReference<>();
+
+  public T get(long key, LongFunction<T> compute)
+  {
+    Flight<T> flight = current.get();
+    if (flight != null && flight.key >= key)
+      return await(flight, key, compute);
+    Flight<T> mine = new Flight<>(key);
+    while (!current.compareAndSet(flight, mine))
+    {
+      flight = current.get();
+      if (flight != null && flight.key >= key)
+        return await(flight, key, compute);
+    }
+    try
+    {
+      T result = compute.apply(key);
+      mine.result.complete(result);
+      return result;
+    }
+    catch (RuntimeException | Error e)
+    {
+      current.compareAndSet(mine, null);
+      mine.result.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private T await(Flight<T> flight, long key, LongFunction<T> compute)
+  {
+    if (!flight.result.isDone() && Context.isOnEventLoopThread())
+      return compute.apply(key);
+    try
+    {
+      return flight.result.join();
+    }
+    catch (CompletionException e)
+    {
+      if (e.getCause() instanceof RuntimeException cause)
+        throw cause;
+      if (e.getCause() instanceof Error cause)
+        throw cause;
+      throw e;
+    }
+  }
+
+  private record Flight<T>(long key, CompletableFuture<T> result)
+  {
+    private Flight(long key)
+    {
+      this(key, new CompletableFuture<>());
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jdk.jfr.*;
+
+@Name("fr.simplex_software.workshop.executors.TaskEnd")
+@Label("Task End")
+@Description("A time task ends. The event spans its run, delay included")
+@Threshold("10 ms")
+public class TaskEndEvent extends TaskEvent
+{
+  @Label("Queue Wait")
+  @Timespan
+  long queueWait;
+  @Label("Run Time")
+  @Timespan
+  long runTime;
+}
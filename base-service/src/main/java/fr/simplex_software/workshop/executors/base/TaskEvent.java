@@ -0,0 +1,26 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jdk.jfr.*;
+
+@Category({"Executors", "Task"})
+@StackTrace(false)
+public abstract class TaskEvent extends Event
+{
+  @Label("Strategy")
+  String strategy;
+  @Label("Endpoint")
+  String endpoint;
+  @Label("Zone")
+  String zone;
+  @Label("Requested Delay")
+  @Timespan(Timespan.SECONDS)
+  long delay;
+
+  void describe(TimeTask task)
+  {
+    strategy = task.strategy();
+    endpoint = task.endpoint();
+    zone = task.zone();
+    delay = task.delay();
+  }
+}
@@ -0,0 +1,70 @@
+package fr.simplex_software.workshop.executors.base;
+
+import io.quarkus.runtime.*;
+import jakarta.enterprise.context.*;
+import jakarta.enterprise.event.*;
+import jdk.jfr.*;
+import org.eclipse.microprofile.config.inject.*;
+import org.slf4j.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.text.*;
+import java.time.*;
+import java.util.*;
+
+@ApplicationScoped
+public class TaskRecording
+{
+  private static final Logger LOG = LoggerFactory.getLogger(TaskRecording.class);
+  private static final String PRESET = "executors.jfc";
+  @ConfigProperty(name = "executors.jfr.enabled", defaultValue = "false")
+  private boolean enabled;
+  @ConfigProperty(name = "executors.jfr.base-settings", defaultValue = "default")
+  private String baseSettings;
+  @ConfigProperty(name = "executors.jfr.preset")
+  private Optional<Path> preset;
+  @ConfigProperty(name = "executors.jfr.destination", defaultValue = "executors.jfr")
+  private Path destination;
+  @ConfigProperty(name = "executors.jfr.max-age", defaultValue = "1h")
+  private Duration maxAge;
+  private Recording recording;
+
+  void onStart(@Observes StartupEvent event) throws IOException, ParseException
+  {
+    if (!enabled)
+      return;
+    Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(baseSettings).getSettings());
+    settings.putAll(presetConfiguration().getSettings());
+    recording = new Recording(settings);
+    recording.setName("executors");
+    recording.setToDisk(true);
+    recording.setMaxAge(maxAge);
+    recording.setDestination(destination);
+    recording.setDumpOnExit(true);
+    recording.start();
+    LOG.info("Recording the task lifecycle events to {}", destination.toAbsolutePath());
+  }
+
+  private Configuration presetConfiguration() throws IOException, ParseException
+  {
+    if (preset.isPresent())
+      return Configuration.create(preset.get());
+    try (Reader reader = new InputStreamReader(
+      Objects.requireNonNull(TaskRecording.class.getClassLoader().getResourceAsStream(PRESET), PRESET),
+      StandardCharsets.UTF_8))
+    {
+      return Configuration.create(reader);
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent event)
+  {
+    if (recording != null)
+    {
+      recording.stop();
+      recording.close();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jdk.jfr.*;
+
+@Name("fr.simplex_software.workshop.executors.TaskResume")
+@Label("Task Resume")
+@Description("A time task resumes its suspended JAX-RS response")
+@Threshold("1 ms")
+public class TaskResumeEvent extends TaskEvent
+{
+  @Label("Status")
+  int status;
+}
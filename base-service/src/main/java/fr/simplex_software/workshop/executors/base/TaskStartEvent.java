@@ -0,0 +1,14 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jdk.jfr.*;
+
+@Name("fr.simplex_software.workshop.executors.TaskStart")
+@Label("Task Start")
+@Description("A time task starts on an executor thread. The event spans the wait in the executor queue")
+@Threshold("10 ms")
+public class TaskStartEvent extends TaskEvent
+{
+  @Label("Queue Wait")
+  @Timespan
+  long queueWait;
+}
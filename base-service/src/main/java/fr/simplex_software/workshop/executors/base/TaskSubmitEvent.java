@@ -0,0 +1,11 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jdk.jfr.*;
+
+@Name("fr.simplex_software.workshop.executors.TaskSubmit")
+@Label("Task Submit")
+@Description("A time task is handed to the executor")
+@Enabled(false)
+public class TaskSubmitEvent extends TaskEvent
+{
+}
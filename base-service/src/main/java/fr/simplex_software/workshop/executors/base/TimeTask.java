@@ -0,0 +1,178 @@
+package fr.simplex_software.workshop.executors.base;
+
+import jakarta.ws.rs.container.*;
+import jakarta.ws.rs.core.*;
+import jdk.jfr.*;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+public class TimeTask implements Runnable
+{
+  private static final int RETRY_AFTER = Settings.get("executors.rejection.retry-after", Integer.class, 1);
+  private static final EventType START = EventType.getEventType(TaskStartEvent.class);
+  private final String strategy;
+  private final String endpoint;
+  private final String zone;
+  private final String client;
+  private final int delay;
+  private final Supplier<String> time;
+  private final long sleepMillis;
+  private final AsyncResponse asyncResponse;
+  private final Deadline deadline;
+  private long submitNanos;
+  private TaskStartEvent startEvent;
+
+  public TimeTask(String strategy, String endpoint, String zone, String client, int delay, Supplier<String> time,
+                  long sleepMillis, AsyncResponse asyncResponse, Deadline deadline)
+  {
+    this.strategy = strategy;
+    this.endpoint = endpoint;
+    this.zone = zone;
+    this.client = client;
+    this.delay = delay;
+    this.time = time;
+    this.sleepMillis = sleepMillis;
+    this.asyncResponse = asyncResponse;
+    this.deadline = deadline;
+  }
+
+  public void submitted()
+  {
+    submitNanos = System.nanoTime();
+    TaskSubmitEvent submitEvent = new TaskSubmitEvent();
+    if (submitEvent.isEnabled())
+    {
+      submitEvent.describe(this);
+      submitEvent.commit();
+    }
+    if (START.isEnabled())
+    {
+      startEvent = new TaskStartEvent();
+      startEvent.begin();
+    }
+  }
+
+  @Override
+  public void run()
+  {
+    if (!deadline.enter())
+    {
+      startEvent = null;
+      return;
+    }
+    long startNanos = System.nanoTime();
+    long queueWait = submitNanos != 0 ? startNanos - submitNanos : 0;
+    if (startEvent != null)
+    {
+      startEvent.end();
+      if (startEvent.shouldCommit())
+      {
+        startEvent.describe(this);
+        startEvent.queueWait = queueWait;
+        startEvent.commit();
+      }
+      startEvent = null;
+    }
+    TaskEndEvent endEvent = new TaskEndEvent();
+    endEvent.begin();
+    Object response;
+    try
+    {
+      deadline.sleep(sleepMillis);
+      response = time.get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      response = e;
+    }
+    catch (Exception e)
+    {
+      response = e;
+    }
+    finally
+    {
+      deadline.exit();
+    }
+    endEvent.end();
+    if (endEvent.shouldCommit())
+    {
+      endEvent.describe(this);
+      endEvent.queueWait = queueWait;
+      endEvent.runTime = System.nanoTime() - startNanos;
+      endEvent.commit();
+    }
+    if (!deadline.isCancelled())
+      resume(response);
+  }
+
+  private void resume(Object response)
+  {
+    if (asyncResponse == null)
+      return;
+    TaskResumeEvent resumeEvent = new TaskResumeEvent();
+    resumeEvent.begin();
+    if (response instanceof Throwable error)
+      asyncResponse.resume(error);
+    else
+      asyncResponse.resume(response);
+    resumeEvent.end();
+    if (resumeEvent.shouldCommit())
+    {
+      resumeEvent.describe(this);
+      resumeEvent.status = response instanceof Response r ? r.getStatus() : response instanceof Throwable ? 500 : 200;
+      resumeEvent.commit();
+    }
+  }
+
+  public String strategy()
+  {
+    return strategy;
+  }
+
+  public String endpoint()
+  {
+    return endpoint;
+  }
+
+  public String zone()
+  {
+    return zone;
+  }
+
+  public String client()
+  {
+    return client;
+  }
+
+  public int delay()
+  {
+    return delay;
+  }
+
+  public long sleepMillis()
+  {
+    return sleepMillis;
+  }
+
+  public Deadline deadline()
+  {
+    return deadline;
+  }
+
+  public void reject()
+  {
+    resume(Response.status(Response.Status.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, RETRY_AFTER).build());
+  }
+
+  public static void reject(Runnable task)
+  {
+    for (Runnable wrapper = task; wrapper instanceof DelegatingTask delegating; wrapper = delegating.delegate())
+      delegating.onReject();
+    if (DelegatingTask.unwrap(task) instanceof TimeTask timeTask)
+      timeTask.reject();
+    else
+      throw new RejectedExecutionException("Task " + task + " rejected");
+  }
+}
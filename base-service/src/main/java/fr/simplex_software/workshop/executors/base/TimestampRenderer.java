@@ -0,0 +1,129 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.nio.charset.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.zone.*;
+
+public final class TimestampRenderer
+{
+  public static final int MAX_LENGTH = 128;
+  private static final long SECONDS_PER_DAY = 86_400;
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+  private static final long YEAR_10000 = LocalDate.of(10_000, 1, 1).toEpochDay() * SECONDS_PER_DAY;
+  private final ZoneId zoneId;
+  private final ZoneRules rules;
+  private final DateTimeFormatter formatter;
+  private final DateTimeFormatter suffixFormatter;
+  private final byte[][] months = new byte[12][];
+  private volatile Window window;
+
+  public TimestampRenderer(ZoneId zoneId)
+  {
+    this.zoneId = zoneId;
+    this.rules = zoneId.getRules();
+    this.formatter = DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(zoneId);
+    this.suffixFormatter = DateTimeFormatter.ofPattern(" XXX z").withZone(zoneId);
+    DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM");
+    for (Month month : Month.values())
+      months[month.ordinal()] = monthFormatter.format(LocalDate.of(2000, month, 1)).getBytes(StandardCharsets.UTF_8);
+  }
+
+  public ZoneId zoneId()
+  {
+    return zoneId;
+  }
+
+  public int render(long epochSecond, byte[] buffer, int offset)
+  {
+    Window current = window;
+    if (current == null || epochSecond < current.from || epochSecond >= current.until)
+      window = current = window(epochSecond);
+    long local = epochSecond + current.offsetSeconds;
+    long epochDay = Math.floorDiv(local, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+    long era = Math.floorDiv(epochDay + 719_468, 146_097);
+    long dayOfEra = epochDay + 719_468 - era * 146_097;
+    long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (int) ((5 * dayOfYear + 2) / 153);
+    int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+    if (year < 0 || year > 9_999)
+      return fallback(epochSecond, buffer, offset);
+    int position = offset;
+    if (day >= 10)
+      buffer[position++] = (byte) ('0' + day / 10);
+    buffer[position++] = (byte) ('0' + day % 10);
+    buffer[position++] = ' ';
+    byte[] monthText = months[month - 1];
+    System.arraycopy(monthText, 0, buffer, position, monthText.length);
+    position += monthText.length;
+    buffer[position++] = ' ';
+    position = fourDigits((int) year, buffer, position);
+    buffer[position++] = ',';
+    buffer[position++] = ' ';
+    position = twoDigits(secondOfDay / 3_600, buffer, position);
+    buffer[position++] = ':';
+    position = twoDigits(secondOfDay / 60 % 60, buffer, position);
+    buffer[position++] = ':';
+    position = twoDigits(secondOfDay % 60, buffer, position);
+    System.arraycopy(current.suffix, 0, buffer, position, current.suffix.length);
+    return position + current.suffix.length - offset;
+  }
+
+  public String format(long epochSecond)
+  {
+    byte[] buffer = BUFFER.get();
+    return new String(buffer, 0, render(epochSecond, buffer, 0), StandardCharsets.UTF_8);
+  }
+
+  private Window window(long epochSecond)
+  {
+    Instant instant = Instant.ofEpochSecond(epochSecond);
+    ZoneOffsetTransition next = rules.nextTransition(instant);
+    long until = next != null ? next.toEpochSecond() : Math.max(YEAR_10000, epochSecond + 1);
+    boolean daylight = rules.isDaylightSavings(instant);
+    if (until - 1 > epochSecond && rules.isDaylightSavings(Instant.ofEpochSecond(until - 1)) != daylight)
+    {
+      long low = epochSecond;
+      long high = until - 1;
+      while (high - low > 1)
+      {
+        long middle = low + (high - low) / 2;
+        if (rules.isDaylightSavings(Instant.ofEpochSecond(middle)) == daylight)
+          low = middle;
+        else
+          high = middle;
+      }
+      until = high;
+    }
+    return new Window(epochSecond, until, rules.getOffset(instant).getTotalSeconds(),
+      suffixFormatter.format(instant).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private int fallback(long epochSecond, byte[] buffer, int offset)
+  {
+    byte[] text = formatter.format(Instant.ofEpochSecond(epochSecond)).getBytes(StandardCharsets.UTF_8);
+    System.arraycopy(text, 0, buffer, offset, text.length);
+    return text.length;
+  }
+
+  private static int twoDigits(int value, byte[] buffer, int position)
+  {
+    buffer[position] = (byte) ('0' + value / 10);
+    buffer[position + 1] = (byte) ('0' + value % 10);
+    return position + 2;
+  }
+
+  private static int fourDigits(int value, byte[] buffer, int position)
+  {
+    position = twoDigits(value / 100, buffer, position);
+    return twoDigits(value % 100, buffer, position);
+  }
+
+  private record Window(long from, long until, int offsetSeconds, byte[] suffix)
+  {
+  }
+}
@@ -0,0 +1,91 @@
+package fr.simplex_software.workshop.executors.base;
+
+import io.quarkus.runtime.*;
+import jakarta.enterprise.context.*;
+import jakarta.enterprise.context.spi.*;
+import jakarta.enterprise.event.*;
+import jakarta.enterprise.inject.*;
+import jakarta.enterprise.inject.spi.*;
+import jakarta.inject.*;
+import org.eclipse.microprofile.config.inject.*;
+import org.eclipse.microprofile.health.*;
+import org.slf4j.*;
+
+import java.time.*;
+import java.util.*;
+
+@Readiness
+@ApplicationScoped
+public class WarmUp implements HealthCheck
+{
+  private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+  private static final String NAME = "warm-up";
+  @ConfigProperty(name = "executors.warm-up.enabled", defaultValue = "false")
+  private boolean enabled;
+  @ConfigProperty(name = "executors.warm-up.requests", defaultValue = "1000")
+  private int requests;
+  @ConfigProperty(name = "executors.warm-up.batch-size", defaultValue = "64")
+  private int batchSize;
+  @Inject
+  private BeanManager beanManager;
+  private volatile HealthCheckResponse status = HealthCheckResponse.up(NAME);
+
+  void onStart(@Observes StartupEvent event)
+  {
+    if (!enabled)
+      return;
+    status = HealthCheckResponse.down(NAME);
+    Thread.ofPlatform().name(NAME).start(this::warmUp);
+  }
+
+  private void warmUp()
+  {
+    long start = System.nanoTime();
+    List<String> zones = ZoneId.getAvailableZoneIds().stream().sorted().toList();
+    HealthCheckResponseBuilder response = HealthCheckResponse.named(NAME).up();
+    try
+    {
+      for (int i = 0; i < requests; i++)
+        ZoneCache.of(zones.get(i % zones.size())).now();
+      List<CreationalContext<?>> contexts = new ArrayList<>();
+      try
+      {
+        for (BaseTimeResource resource : resources(contexts))
+          resource.warmUp(requests, zones, batchSize);
+      }
+      finally
+      {
+        contexts.forEach(CreationalContext::release);
+      }
+    }
+    catch (Exception e)
+    {
+      if (e instanceof InterruptedException)
+        Thread.currentThread().interrupt();
+      LOG.warn("The warm-up failed, reporting ready anyway", e);
+      response.withData("error", e.toString());
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    LOG.info("Warmed up with {} requests in {} ms", requests, duration.toMillis());
+    status = response.withData("requests", requests).withData("duration-ms", duration.toMillis()).build();
+  }
+
+  private List<BaseTimeResource> resources(List<CreationalContext<?>> contexts)
+  {
+    List<BaseTimeResource> resources = new ArrayList<>();
+    for (Bean<?> bean : beanManager.getBeans(Object.class, Any.Literal.INSTANCE))
+      if (BaseTimeResource.class.isAssignableFrom(bean.getBeanClass()))
+      {
+        CreationalContext<?> context = beanManager.createCreationalContext(bean);
+        contexts.add(context);
+        resources.add((BaseTimeResource) beanManager.getReference(bean, bean.getBeanClass(), context));
+      }
+    return resources;
+  }
+
+  @Override
+  public HealthCheckResponse call()
+  {
+    return status;
+  }
+}
@@ -0,0 +1,145 @@
+package fr.simplex_software.workshop.executors.base;
+
+import java.net.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.zone.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+public final class ZoneCache
+{
+  public static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
+  private static final int MAX_SIZE = Settings.get("executors.zone-cache.max-size", Integer.class, 1024);
+  private static final boolean SINGLE_FLIGHT = Settings.get("executors.single-flight.enabled", Boolean.class, false);
+  private static final boolean RENDERER = Settings.get("executors.renderer.enabled", Boolean.class, false);
+  private static final ResponseTable RESPONSE_TABLE = Settings.get("executors.response-table.enabled", Boolean.class,
+    false) ? ResponseTable.ofAvailableZones().start() : null;
+  private static final Cache PATH_SEGMENTS = new Cache(MAX_SIZE,
+    segment -> URLDecoder.decode(segment, StandardCharsets.UTF_8));
+  private static final Cache ZONE_IDS = new Cache(MAX_SIZE, UnaryOperator.identity());
+  private static final Zone DEFAULT_ZONE = new Zone(ZoneId.systemDefault());
+
+  private ZoneCache()
+  {
+  }
+
+  public static Zone systemDefault()
+  {
+    return DEFAULT_ZONE;
+  }
+
+  public static Zone of(String rawZoneId)
+  {
+    return PATH_SEGMENTS.get(rawZoneId);
+  }
+
+  public static Zone ofZoneId(String zoneId)
+  {
+    return ZONE_IDS.get(zoneId);
+  }
+
+  public static final class Cache
+  {
+    private final ConcurrentMap<String, Zone> zones = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Failure> invalidZones = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final UnaryOperator<String> toZoneId;
+
+    public Cache(int maxSize, UnaryOperator<String> toZoneId)
+    {
+      this.maxSize = maxSize;
+      this.toZoneId = toZoneId;
+    }
+
+    public Zone get(String key)
+    {
+      Zone zone = zones.get(key);
+      if (zone != null)
+        return zone;
+      Failure failure = invalidZones.get(key);
+      if (failure != null)
+        throw failure.recreate();
+      return resolve(key);
+    }
+
+    public int size()
+    {
+      return zones.size();
+    }
+
+    public int invalidSize()
+    {
+      return invalidZones.size();
+    }
+
+    private Zone resolve(String key)
+    {
+      try
+      {
+        Zone zone = new Zone(ZoneId.of(toZoneId.apply(key)));
+        if (zones.size() < maxSize)
+          zones.putIfAbsent(key, zone);
+        return zone;
+      }
+      catch (DateTimeException | IllegalArgumentException e)
+      {
+        if (invalidZones.size() >= maxSize)
+          invalidZones.clear();
+        invalidZones.putIfAbsent(key, new Failure(e.getClass(), e.getMessage()));
+        throw e;
+      }
+    }
+  }
+
+  private record Failure(Class<? extends RuntimeException> type, String message)
+  {
+    private RuntimeException recreate()
+    {
+      if (type == ZoneRulesException.class)
+        return new ZoneRulesException(message);
+      if (type == IllegalArgumentException.class)
+        return new IllegalArgumentException(message);
+      return new DateTimeException(message);
+    }
+  }
+
+  public record Zone(ZoneId zoneId, DateTimeFormatter formatter, SingleFlight<String> flight,
+    TimestampRenderer renderer)
+  {
+    Zone(ZoneId zoneId)
+    {
+      this(zoneId, DateTimeFormatter.ofPattern(FMT).withZone(zoneId), new SingleFlight<>(),
+        RENDERER ? new TimestampRenderer(zoneId) : null);
+    }
+
+    public String now()
+    {
+      if (RESPONSE_TABLE != null)
+      {
+        String time = RESPONSE_TABLE.get(zoneId, Math.floorDiv(System.currentTimeMillis(), 1000));
+        if (time != null)
+          return time;
+      }
+      if (SINGLE_FLIGHT)
+        return flight.get(Math.floorDiv(System.currentTimeMillis(), 1000), this::format);
+      return RENDERER ? renderer.format(Math.floorDiv(System.currentTimeMillis(), 1000)) :
+        ZonedDateTime.now(zoneId).format(formatter);
+    }
+
+    public String format(long epochSecond)
+    {
+      return RENDERER ? renderer.format(epochSecond) : formatter.format(Instant.ofEpochSecond(epochSecond));
+    }
+
+    public int render(long epochSecond, byte[] buffer, int offset)
+    {
+      if (renderer != null)
+        return renderer.render(epochSecond, buffer, offset);
+      byte[] bytes = format(epochSecond).getBytes(StandardCharsets.UTF_8);
+      System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+      return bytes.length;
+    }
+  }
+}
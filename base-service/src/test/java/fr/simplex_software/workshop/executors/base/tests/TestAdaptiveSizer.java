@@ -0,0 +1,86 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestAdaptiveSizer
+{
+  private static final double MILLIS = 1e6;
+
+  @Test
+  public void testTargetFollowsLittlesLaw()
+  {
+    assertThat(AdaptiveSizer.target(2, 100, 0, 50 * MILLIS)).isEqualTo(5);
+    assertThat(AdaptiveSizer.target(5, 100, 0, 50 * MILLIS)).isEqualTo(5);
+    assertThat(AdaptiveSizer.target(2, 1000, 10 * MILLIS, 20 * MILLIS)).isEqualTo(20);
+  }
+
+  @Test
+  public void testTargetGrowsFasterWhileRequestsQueue()
+  {
+    assertThat(AdaptiveSizer.target(4, 10, 200 * MILLIS, 100 * MILLIS)).isEqualTo(6);
+    assertThat(AdaptiveSizer.target(16, 10, 200 * MILLIS, 100 * MILLIS)).isEqualTo(20);
+  }
+
+  @Test
+  public void testTargetShrinksByAQuarterAtMost()
+  {
+    assertThat(AdaptiveSizer.target(16, 20, 0, 100 * MILLIS)).isEqualTo(12);
+    assertThat(AdaptiveSizer.target(4, 0, 0, 0)).isEqualTo(3);
+    assertThat(AdaptiveSizer.target(16, 100, 0, 100 * MILLIS)).isEqualTo(12);
+  }
+
+  @Test
+  public void testPinResizesThePoolWithinItsBounds()
+  {
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    try (AdaptiveSizer sizer = new AdaptiveSizer(pool, 1, 8, 1000, false))
+    {
+      sizer.pin(8);
+      assertThat(pool.getCorePoolSize()).isEqualTo(8);
+      assertThat(pool.getMaximumPoolSize()).isEqualTo(8);
+      sizer.pin(1);
+      assertThat(pool.getCorePoolSize()).isEqualTo(1);
+      assertThat(pool.getMaximumPoolSize()).isEqualTo(1);
+      assertThatThrownBy(() -> sizer.pin(0)).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> sizer.pin(100_000)).isInstanceOf(IllegalArgumentException.class);
+      assertThat(sizer.limit()).isEqualTo(1);
+    }
+    finally
+    {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testPinKeepsForkJoinParallelismWithinItsBounds()
+  {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try (AdaptiveSizer sizer = new AdaptiveSizer(pool, 1, 8, 1000, false))
+    {
+      assertThatThrownBy(() -> sizer.pin(40_000)).isInstanceOf(IllegalArgumentException.class);
+      sizer.pin(4);
+      assertThat(pool.getParallelism()).isEqualTo(4);
+    }
+    finally
+    {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testOnlyResizablePoolsAreSized()
+  {
+    try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      assertThat(AdaptiveSizer.of(virtual)).isEmpty();
+      assertThat(AdaptiveSizer.of(ForkJoinPool.commonPool())).isEmpty();
+      assertThatThrownBy(() -> new AdaptiveSizer(virtual, 1, 8, 1000, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
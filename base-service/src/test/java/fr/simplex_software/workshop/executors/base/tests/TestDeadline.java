@@ -0,0 +1,71 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import jakarta.ws.rs.*;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestDeadline
+{
+  @Test
+  public void testParsesTimeouts()
+  {
+    assertThat(Deadline.parse("250")).isEqualTo(250);
+    assertThat(Deadline.parse("250ms")).isEqualTo(250);
+    assertThat(Deadline.parse("3s")).isEqualTo(3_000);
+    assertThat(Deadline.parse("2m")).isEqualTo(120_000);
+    assertThatThrownBy(() -> Deadline.parse("soon")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> Deadline.parse("0")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> Deadline.parse("61m")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> Deadline.parse("99999999999999999999")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> Deadline.parse("9223372036854775807m")).isInstanceOf(BadRequestException.class);
+    assertThat(Deadline.of("test", null, "5s").timeoutMillis()).isEqualTo(5_000);
+    assertThat(Deadline.of("test", "100", "5s").timeoutMillis()).isEqualTo(100);
+  }
+
+  @Test
+  public void testRefusesSleepsLongerThanTheDeadline()
+  {
+    Deadline deadline = Deadline.of("test", "500ms", null);
+    assertThat(deadline.admits(100)).isTrue();
+    assertThat(deadline.admits(1_000)).isFalse();
+    assertThat(deadline.isCancelled()).isTrue();
+    assertThat(deadline.enter()).isFalse();
+    assertThat(Deadline.none("test").admits(Long.MAX_VALUE - 1)).isTrue();
+  }
+
+  @Test
+  public void testCancelInterruptsTheRunningSleep() throws Exception
+  {
+    Deadline deadline = Deadline.none("test");
+    AtomicBoolean cancelled = new AtomicBoolean();
+    deadline.onCancel(() -> cancelled.set(true));
+    try (ExecutorService executor = Executors.newSingleThreadExecutor())
+    {
+      Future<String> result = executor.submit(() -> deadline.call(10_000, () -> "late"));
+      Thread.sleep(200);
+      long start = System.nanoTime();
+      deadline.cancel("disconnect");
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(ServiceUnavailableException.class);
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+      assertThat(executor.submit(() -> Thread.currentThread().isInterrupted()).get()).isFalse();
+    }
+    assertThat(cancelled).isTrue();
+  }
+
+  @Test
+  public void testExpiredDeadlineIsCancelledWhenTheTaskStarts() throws InterruptedException
+  {
+    Deadline deadline = Deadline.of("test", "50ms", null);
+    AtomicBoolean cancelled = new AtomicBoolean();
+    deadline.onCancel(() -> cancelled.set(true));
+    Thread.sleep(100);
+    assertThat(deadline.enter()).isFalse();
+    assertThat(cancelled).isTrue();
+  }
+}
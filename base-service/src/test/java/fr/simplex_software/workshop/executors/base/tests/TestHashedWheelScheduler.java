@@ -0,0 +1,134 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestHashedWheelScheduler
+{
+  private ExecutorService workers;
+  private HashedWheelScheduler scheduler;
+
+  @BeforeEach
+  public void setUp()
+  {
+    workers = Executors.newFixedThreadPool(2);
+    scheduler = new HashedWheelScheduler(Duration.ofMillis(5), 8, 2, workers, 4, Thread.ofPlatform().factory());
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    scheduler.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  @Test
+  public void testFiresNoEarlierThanTheDeadlineAndWithinATick() throws Exception
+  {
+    List<Long> delays = List.of(0L, 3L, 20L, 45L, 120L);
+    List<ScheduledFuture<Long>> futures = new ArrayList<>();
+    long start = System.nanoTime();
+    for (long delay : delays)
+      futures.add(scheduler.schedule(() -> System.nanoTime() - start, delay, TimeUnit.MILLISECONDS));
+    for (int i = 0; i < delays.size(); i++)
+      assertThat(Duration.ofNanos(futures.get(i).get(2, TimeUnit.SECONDS)))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(delays.get(i)))
+        .isLessThan(Duration.ofMillis(delays.get(i) + 100));
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void testCancelRemovesTheTimer() throws Exception
+  {
+    AtomicInteger fired = new AtomicInteger();
+    List<ScheduledFuture<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++)
+      futures.add(scheduler.schedule(fired::incrementAndGet, 50 + i % 100, TimeUnit.MILLISECONDS));
+    assertThat(scheduler.getPendingCount()).isEqualTo(1_000);
+    futures.forEach(future -> future.cancel(false));
+    Thread.sleep(250);
+    assertThat(fired).hasValue(0);
+    assertThat(scheduler.getPendingCount()).isZero();
+    assertThat(futures).allMatch(Future::isCancelled);
+  }
+
+  @Test
+  public void testRepeatsAtFixedRateAndWithFixedDelay() throws Exception
+  {
+    CountDownLatch rate = new CountDownLatch(5);
+    CountDownLatch delay = new CountDownLatch(5);
+    long start = System.nanoTime();
+    ScheduledFuture<?> fixedRate = scheduler.scheduleAtFixedRate(rate::countDown, 0, 20, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> fixedDelay = scheduler.scheduleWithFixedDelay(delay::countDown, 0, 20, TimeUnit.MILLISECONDS);
+    assertThat(rate.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(delay.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    fixedRate.cancel(false);
+    fixedDelay.cancel(false);
+    assertThatThrownBy(() -> fixedRate.get(1, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  public void testShutdownRunsTheDelayedTimers() throws Exception
+  {
+    ScheduledFuture<String> delayed = scheduler.schedule(() -> "fired", 50, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> periodic = scheduler.scheduleAtFixedRate(() -> {}, 0, 10, TimeUnit.MILLISECONDS);
+    scheduler.shutdown();
+    assertThatThrownBy(() -> scheduler.schedule(() -> {}, 1, TimeUnit.MILLISECONDS))
+      .isInstanceOf(RejectedExecutionException.class);
+    assertThat(delayed.get(2, TimeUnit.SECONDS)).isEqualTo("fired");
+    assertThat(scheduler.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(periodic.isCancelled()).isTrue();
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void testNoTimerIsLostWhenSchedulingRacesWithShutdown() throws Exception
+  {
+    List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    CountDownLatch started = new CountDownLatch(4);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++)
+      threads.add(Thread.ofPlatform().start(() ->
+      {
+        started.countDown();
+        try
+        {
+          for (int delay = 0; ; delay = (delay + 1) % 20)
+            futures.add(scheduler.schedule(() -> {}, delay, TimeUnit.MILLISECONDS));
+        }
+        catch (RejectedExecutionException e)
+        {
+          return;
+        }
+      }));
+    started.await();
+    Thread.sleep(20);
+    scheduler.shutdown();
+    for (Thread thread : threads)
+      thread.join();
+    assertThat(scheduler.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+    workers.shutdown();
+    assertThat(workers.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(futures).isNotEmpty().allMatch(Future::isDone);
+  }
+
+  @Test
+  public void testShutdownNowCancelsPendingTimers() throws Exception
+  {
+    ScheduledFuture<?> pending = scheduler.schedule(() -> fail("fired after shutdown"), 10, TimeUnit.SECONDS);
+    List<Runnable> unprocessed = scheduler.shutdownNow();
+    assertThat(scheduler.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(unprocessed).containsExactly((Runnable) pending);
+    assertThat(pending.isCancelled()).isTrue();
+    assertThatThrownBy(() -> scheduler.schedule(() -> {}, 1, TimeUnit.MILLISECONDS))
+      .isInstanceOf(RejectedExecutionException.class);
+  }
+}
@@ -0,0 +1,116 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+import java.time.format.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestResponseTable
+{
+  private static final long SECOND = Instant.parse("2024-10-27T00:59:59Z").getEpochSecond();
+
+  @Test
+  public void testRendersEveryZone()
+  {
+    ResponseTable table = ResponseTable.ofAvailableZones();
+    table.render(SECOND);
+    assertThat(table.size()).isGreaterThanOrEqualTo(ZoneId.getAvailableZoneIds().size());
+    for (String id : ZoneId.getAvailableZoneIds())
+      assertThat(table.get(ZoneId.of(id), SECOND)).isEqualTo(expected(ZoneId.of(id), SECOND));
+    assertThat(table.get(ZoneId.systemDefault(), SECOND)).isEqualTo(expected(ZoneId.systemDefault(), SECOND));
+  }
+
+  @Test
+  public void testMissesOtherSecondsAndUnknownZones()
+  {
+    ResponseTable table = new ResponseTable(List.of(ZoneId.of("Europe/Paris")));
+    assertThat(table.get(ZoneId.of("Europe/Paris"), SECOND)).isNull();
+    table.render(SECOND);
+    assertThat(table.get(ZoneId.of("Europe/Paris"), SECOND + 1)).isNull();
+    assertThat(table.get(ZoneId.of("Asia/Tokyo"), SECOND)).isNull();
+    table.render(SECOND + 1);
+    assertThat(table.get(ZoneId.of("Europe/Paris"), SECOND + 1))
+      .isEqualTo(expected(ZoneId.of("Europe/Paris"), SECOND + 1));
+    assertThat(table.get(ZoneId.of("Europe/Paris"), SECOND)).isNull();
+  }
+
+  @Test
+  public void testGetFollowsEveryRender()
+  {
+    ResponseTable table = new ResponseTable(List.of(ZoneId.of("UTC"), ZoneId.of("Europe/Paris")));
+    for (long second = SECOND - 3_600; second < SECOND + 3_600; second += 7)
+    {
+      table.render(second);
+      assertThat(table.get(ZoneId.of("Europe/Paris"), second)).isEqualTo(expected(ZoneId.of("Europe/Paris"), second));
+      assertThat(table.get(ZoneId.of("UTC"), second)).isEqualTo(expected(ZoneId.of("UTC"), second));
+      assertThat(table.get(ZoneId.of("Europe/Paris"), second - 7)).isNull();
+    }
+  }
+
+  @Test
+  public void testConcurrentReadsNeverSeeATornTime() throws Exception
+  {
+    ResponseTable table = new ResponseTable(List.of(ZoneId.of("Europe/Paris")));
+    table.render(SECOND);
+    AtomicLong rendered = new AtomicLong(SECOND);
+    AtomicBoolean done = new AtomicBoolean();
+    try (ExecutorService readers = Executors.newFixedThreadPool(4))
+    {
+      List<Future<Integer>> hits = new ArrayList<>();
+      for (int i = 0; i < 4; i++)
+        hits.add(readers.submit(() ->
+        {
+          int count = 0;
+          while (!done.get())
+          {
+            long second = rendered.get();
+            String time = table.get(ZoneId.of("Europe/Paris"), second);
+            if (time != null)
+            {
+              assertThat(time).isEqualTo(expected(ZoneId.of("Europe/Paris"), second));
+              count++;
+            }
+          }
+          return count;
+        }));
+      for (long second = SECOND + 1; second < SECOND + 20_000; second++)
+      {
+        table.render(second);
+        rendered.set(second);
+      }
+      done.set(true);
+      for (Future<Integer> count : hits)
+        assertThat(count.get()).isPositive();
+    }
+  }
+
+  @Test
+  public void testTickerRendersCurrentSecond() throws InterruptedException
+  {
+    try (ResponseTable table = new ResponseTable(List.of(ZoneId.of("Asia/Tokyo"))).start())
+    {
+      String time = null;
+      for (int i = 0; i < 100 && time == null; i++)
+      {
+        long second = Math.floorDiv(System.currentTimeMillis(), 1000);
+        time = table.get(ZoneId.of("Asia/Tokyo"), second);
+        if (time != null)
+          assertThat(time).isEqualTo(expected(ZoneId.of("Asia/Tokyo"), second));
+        else
+          Thread.sleep(50);
+      }
+      assertThat(time).isNotNull();
+    }
+  }
+
+  private static String expected(ZoneId zoneId, long epochSecond)
+  {
+    return DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(zoneId).format(Instant.ofEpochSecond(epochSecond));
+  }
+}
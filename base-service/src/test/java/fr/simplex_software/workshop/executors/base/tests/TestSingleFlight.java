@@ -0,0 +1,143 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestSingleFlight
+{
+  @Test
+  public void testConcurrentCallsShareOneComputation() throws Exception
+  {
+    SingleFlight<String> flight = new SingleFlight<>();
+    AtomicInteger computations = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    Callable<String> call = () ->
+    {
+      start.await();
+      return flight.get(42, key ->
+      {
+        computations.incrementAndGet();
+        sleep(50);
+        return "second " + key;
+      });
+    };
+    List<Future<String>> results = new ArrayList<>();
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      for (int i = 0; i < 64; i++)
+        results.add(callers.submit(call));
+      start.countDown();
+      for (Future<String> result : results)
+        assertThat(result.get()).isEqualTo("second 42");
+    }
+    assertThat(computations).hasValue(1);
+  }
+
+  @Test
+  public void testNewKeyReplacesTheFlight()
+  {
+    SingleFlight<String> flight = new SingleFlight<>();
+    assertThat(flight.get(1, key -> "first")).isEqualTo("first");
+    assertThat(flight.get(1, key -> "ignored")).isEqualTo("first");
+    assertThat(flight.get(2, key -> "second")).isEqualTo("second");
+    assertThat(flight.get(1, key -> "stale")).isEqualTo("second");
+  }
+
+  @Test
+  public void testFailureIsNotCached()
+  {
+    SingleFlight<String> flight = new SingleFlight<>();
+    assertThatThrownBy(() -> flight.get(1, key -> { throw new IllegalStateException("boom"); }))
+      .isInstanceOf(IllegalStateException.class);
+    assertThat(flight.get(1, key -> "retried")).isEqualTo("retried");
+  }
+
+  @Test
+  public void testWaitersSeeTheOriginalFailure() throws Exception
+  {
+    SingleFlight<String> flight = new SingleFlight<>();
+    CountDownLatch computing = new CountDownLatch(1);
+    CountDownLatch fail = new CountDownLatch(1);
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      Future<String> leader = callers.submit(() -> flight.get(1, key ->
+      {
+        computing.countDown();
+        await(fail);
+        throw new IllegalStateException("boom");
+      }));
+      computing.await();
+      Future<String> waiter = callers.submit(() -> flight.get(1, key -> "not computed"));
+      Thread.sleep(100);
+      fail.countDown();
+      assertThatThrownBy(leader::get).hasCauseExactlyInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(waiter::get).hasCauseExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  public void testEventLoopDoesNotWaitForAnotherFlight() throws Exception
+  {
+    SingleFlight<String> flight = new SingleFlight<>();
+    CountDownLatch computing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Vertx vertx = Vertx.vertx();
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      Future<String> leader = callers.submit(() -> flight.get(1, key ->
+      {
+        computing.countDown();
+        await(release);
+        return "leader";
+      }));
+      computing.await();
+      CompletableFuture<String> onEventLoop = new CompletableFuture<>();
+      vertx.runOnContext(ignored -> onEventLoop.complete(flight.get(1, key -> "event loop")));
+      assertThat(onEventLoop.get(5, TimeUnit.SECONDS)).isEqualTo("event loop");
+      release.countDown();
+      assertThat(leader.get()).isEqualTo("leader");
+    }
+    finally
+    {
+      vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void testZoneFormatsTheSecond()
+  {
+    ZoneCache.Zone zone = ZoneCache.ofZoneId("Europe/Paris");
+    assertThat(zone.format(0)).isEqualTo("1 Jan 1970, 01:00:00 +01:00 CET");
+  }
+
+  private static void await(CountDownLatch latch)
+  {
+    try
+    {
+      latch.await();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis)
+  {
+    try
+    {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.zone.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestTimestampRenderer
+{
+  private static final long FROM = LocalDate.of(1900, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+  private static final long UNTIL = LocalDate.of(2100, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+  @Test
+  public void testTransitionsOfEveryZone()
+  {
+    for (String id : new TreeSet<>(ZoneId.getAvailableZoneIds()))
+    {
+      ZoneId zoneId = ZoneId.of(id);
+      TimestampRenderer renderer = new TimestampRenderer(zoneId);
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(zoneId);
+      byte[] buffer = new byte[TimestampRenderer.MAX_LENGTH];
+      ZoneOffsetTransition transition = zoneId.getRules().nextTransition(Instant.ofEpochSecond(FROM));
+      while (transition != null && transition.toEpochSecond() < UNTIL)
+      {
+        long epochSecond = transition.toEpochSecond();
+        for (long second : new long[] { epochSecond - 86_400, epochSecond - 1, epochSecond, epochSecond + 1 })
+          assertRendered(renderer, formatter, buffer, second);
+        transition = zoneId.getRules().nextTransition(transition.getInstant());
+      }
+    }
+  }
+
+  @Test
+  public void testRandomInstantsOfEveryZone()
+  {
+    Random random = new Random(42);
+    for (String id : new TreeSet<>(ZoneId.getAvailableZoneIds()))
+    {
+      ZoneId zoneId = ZoneId.of(id);
+      TimestampRenderer renderer = new TimestampRenderer(zoneId);
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(zoneId);
+      byte[] buffer = new byte[TimestampRenderer.MAX_LENGTH];
+      for (int i = 0; i < 200; i++)
+        assertRendered(renderer, formatter, buffer, FROM + (long) (random.nextDouble() * (UNTIL - FROM)));
+    }
+  }
+
+  @Test
+  public void testConsecutiveSecondsAcrossDaylightSaving()
+  {
+    ZoneId zoneId = ZoneId.of("Europe/Paris");
+    TimestampRenderer renderer = new TimestampRenderer(zoneId);
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(zoneId);
+    byte[] buffer = new byte[TimestampRenderer.MAX_LENGTH];
+    for (String date : List.of("2024-03-31T00:00:00Z", "2024-10-27T00:00:00Z", "1999-12-31T22:00:00Z"))
+    {
+      long start = Instant.parse(date).getEpochSecond();
+      for (long second = start; second < start + 4 * 3_600; second++)
+        assertRendered(renderer, formatter, buffer, second);
+    }
+  }
+
+  @Test
+  public void testRendersAtOffset()
+  {
+    TimestampRenderer renderer = new TimestampRenderer(ZoneId.of("UTC"));
+    byte[] buffer = new byte[TimestampRenderer.MAX_LENGTH + 3];
+    int length = renderer.render(0, buffer, 3);
+    assertThat(new String(buffer, 3, length, StandardCharsets.UTF_8))
+      .isEqualTo(DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(ZoneId.of("UTC")).format(Instant.EPOCH));
+    assertThat(buffer[0]).isZero();
+  }
+
+  @Test
+  public void testFormatReusesTheThreadBuffer()
+  {
+    TimestampRenderer paris = new TimestampRenderer(ZoneId.of("Europe/Paris"));
+    TimestampRenderer kolkata = new TimestampRenderer(ZoneId.of("Asia/Kolkata"));
+    String first = paris.format(0);
+    String second = kolkata.format(86_399);
+    assertThat(first).isEqualTo(DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(ZoneId.of("Europe/Paris"))
+      .format(Instant.EPOCH));
+    assertThat(second).isEqualTo(DateTimeFormatter.ofPattern(ZoneCache.FMT).withZone(ZoneId.of("Asia/Kolkata"))
+      .format(Instant.ofEpochSecond(86_399)));
+  }
+
+  private static void assertRendered(TimestampRenderer renderer, DateTimeFormatter formatter, byte[] buffer,
+    long epochSecond)
+  {
+    byte[] expected = formatter.format(Instant.ofEpochSecond(epochSecond)).getBytes(StandardCharsets.UTF_8);
+    int length = renderer.render(epochSecond, buffer, 0);
+    assertThat(Arrays.copyOf(buffer, length))
+      .as("%s at %d", renderer.zoneId(), epochSecond)
+      .isEqualTo(expected);
+  }
+}
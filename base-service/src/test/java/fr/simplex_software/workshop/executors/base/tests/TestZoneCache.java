@@ -0,0 +1,81 @@
+package fr.simplex_software.workshop.executors.base.tests;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.time.zone.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestZoneCache
+{
+  @Test
+  public void testCacheStopsGrowingAtMaxSize()
+  {
+    ZoneCache.Cache cache = new ZoneCache.Cache(4, key -> key);
+    List<String> zoneIds = new ArrayList<>(new TreeSet<>(ZoneId.getAvailableZoneIds())).subList(0, 10);
+    for (String zoneId : zoneIds)
+      assertThat(cache.get(zoneId).zoneId()).isEqualTo(ZoneId.of(zoneId));
+    assertThat(cache.size()).isEqualTo(4);
+    assertThat(cache.get(zoneIds.get(0))).isSameAs(cache.get(zoneIds.get(0)));
+    assertThat(cache.get(zoneIds.get(9))).isNotSameAs(cache.get(zoneIds.get(9)));
+  }
+
+  @Test
+  public void testInvalidZoneIsResolvedOnceAndThrowsANewExceptionEachTime()
+  {
+    AtomicInteger resolutions = new AtomicInteger();
+    ZoneCache.Cache cache = new ZoneCache.Cache(4, key ->
+    {
+      resolutions.incrementAndGet();
+      return key;
+    });
+    Throwable first = catchThrowable(() -> cache.get("Mars/Olympus_Mons"));
+    Throwable second = catchThrowable(() -> cache.get("Mars/Olympus_Mons"));
+    assertThat(first).isInstanceOf(DateTimeException.class);
+    assertThat(second).isInstanceOf(DateTimeException.class).isNotSameAs(first).hasMessage(first.getMessage());
+    assertThat(resolutions).hasValue(1);
+  }
+
+  @Test
+  public void testInvalidZoneIsRethrownWithItsOriginalType()
+  {
+    ZoneCache.Cache cache = new ZoneCache.Cache(4, key -> URLDecoder.decode(key, StandardCharsets.UTF_8));
+    for (int i = 0; i < 2; i++)
+    {
+      assertThatThrownBy(() -> cache.get("Mars/Olympus_Mons")).isExactlyInstanceOf(ZoneRulesException.class);
+      assertThatThrownBy(() -> cache.get("Not a zone!")).isExactlyInstanceOf(DateTimeException.class);
+      assertThatThrownBy(() -> cache.get("Europe%2")).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+    assertThat(cache.invalidSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void testInvalidZonesAreClearedAtMaxSize()
+  {
+    ZoneCache.Cache cache = new ZoneCache.Cache(4, key -> key);
+    for (int i = 0; i < 4; i++)
+    {
+      int zone = i;
+      assertThatThrownBy(() -> cache.get("Mars/Zone_" + zone)).isInstanceOf(DateTimeException.class);
+    }
+    assertThat(cache.invalidSize()).isEqualTo(4);
+    assertThatThrownBy(() -> cache.get("Mars/Zone_4")).isInstanceOf(DateTimeException.class);
+    assertThat(cache.invalidSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRendererIsOnlyBuiltWhenEnabled()
+  {
+    ZoneCache.Zone zone = new ZoneCache.Cache(4, key -> key).get("Europe/Paris");
+    assertThat(zone.renderer()).isNull();
+    byte[] buffer = new byte[TimestampRenderer.MAX_LENGTH + 3];
+    int length = zone.render(1_700_000_000L, buffer, 3);
+    assertThat(new String(buffer, 3, length, StandardCharsets.UTF_8)).isEqualTo(zone.format(1_700_000_000L));
+  }
+}
@@ -9,6 +9,8 @@ import java.nio.charset.*;
 import java.time.*;
 import java.time.format.*;
 import java.time.temporal.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import static io.restassured.RestAssured.*;
 import static org.assertj.core.api.Assertions.*;
@@ -54,5 +56,62 @@ public abstract class BaseTimeResourceTest
       .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
   }
 
+  @Test
+  public void testDeadlineShorterThanDelay()
+  {
+    long start = System.nanoTime();
+    Response response = given().queryParam("delay", 3).queryParam("timeout", "1s").when().get(timeSrvUri);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_SERVICE_UNAVAILABLE);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+  }
+
+  @Test
+  public void testDeadlineHeaderShorterThanDelay()
+  {
+    long start = System.nanoTime();
+    Response response = given().header("X-Request-Timeout", "1s").queryParam("delay", 3).when().get(timeSrvUri);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_SERVICE_UNAVAILABLE);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+  }
+
+  @Test
+  public void testInvalidDeadline()
+  {
+    assertThat(given().queryParam("timeout", "0").when().get(timeSrvUri).statusCode())
+      .isEqualTo(HttpStatus.SC_BAD_REQUEST);
+    assertThat(given().header("X-Request-Timeout", "99999999999999999999").when().get(timeSrvUri).statusCode())
+      .isEqualTo(HttpStatus.SC_BAD_REQUEST);
+  }
+
+  @Test
+  public void testDeadlineHeader()
+  {
+    Response response = given().header("X-Request-Timeout", "5s").queryParam("delay", 1).when().get(timeSrvUri);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(LocalDateTime.parse(response.prettyPrint(), DateTimeFormatter.ofPattern(FMT)))
+      .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
+  }
+
+  protected void assertTimerDelayDoesNotHoldPoolThreads() throws Exception
+  {
+    Callable<Response> delayedRequest = () -> given().baseUri(timeSrvUri.toString())
+      .queryParam("delay", 1).queryParam("delayMode", "timer")
+      .when().get("{zoneId}", URLEncoder.encode("Europe/Kaliningrad", StandardCharsets.UTF_8));
+    long start = System.nanoTime();
+    List<Response> responses = new ArrayList<>();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      for (Future<Response> response : clients.invokeAll(Collections.nCopies(8, delayedRequest)))
+        responses.add(response.get());
+    }
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    assertThat(responses).allSatisfy(response ->
+    {
+      assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+      assertThat(LocalDateTime.parse(response.asString(), DateTimeFormatter.ofPattern(FMT)))
+        .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
+    });
+  }
+
   protected abstract URL getTimeSrvURL();
 }
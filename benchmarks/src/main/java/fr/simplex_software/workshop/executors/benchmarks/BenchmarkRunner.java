@@ -0,0 +1,18 @@
+package fr.simplex_software.workshop.executors.benchmarks;
+
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+public class BenchmarkRunner
+{
+  public static void main(String... args) throws Exception
+  {
+    CommandLineOptions cli = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+    if (cli.getProfilers().stream().map(ProfilerConfig::getKlass)
+      .noneMatch(profiler -> profiler.equals("gc") || profiler.equals(GCProfiler.class.getName())))
+      options.addProfiler(GCProfiler.class);
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,37 @@
+package fr.simplex_software.workshop.executors.benchmarks;
+
+import fr.simplex_software.workshop.executors.base.*;
+
+import java.util.concurrent.*;
+
+public class BenchmarkTimeResource extends BaseTimeResource
+{
+  private final ExecutorService benchmarkExecutor;
+
+  public BenchmarkTimeResource(ExecutorService benchmarkExecutor)
+  {
+    this.benchmarkExecutor = benchmarkExecutor;
+    executor = benchmarkExecutor;
+  }
+
+  @Override
+  protected ExecutorService getExecutor()
+  {
+    return benchmarkExecutor;
+  }
+
+  public String defaultZone()
+  {
+    return getCurrentDateAndTimeAtDefaultZone();
+  }
+
+  public String zone(String zoneId)
+  {
+    return getCurrentDateAndTimeAtZone(zoneId);
+  }
+
+  public void shutdown()
+  {
+    executor.shutdown();
+  }
+}
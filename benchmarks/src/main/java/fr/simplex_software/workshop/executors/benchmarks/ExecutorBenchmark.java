@@ -0,0 +1,62 @@
+package fr.simplex_software.workshop.executors.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutorBenchmark
+{
+  @Param({"FIXED", "WORK_STEALING", "THREAD_PER_TASK", "VIRTUAL", "SCHEDULED", "COMMON_POOL", "MUTINY"})
+  private Strategy strategy;
+  @Param({"1", "16", "64"})
+  private int concurrency;
+  @Param("Europe%2FKaliningrad")
+  private String zoneId;
+  private ExecutorService executor;
+  private BenchmarkTimeResource resource;
+  private volatile String sink;
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    executor = strategy.newExecutor();
+    resource = new BenchmarkTimeResource(executor);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    resource.shutdown();
+  }
+
+  @Benchmark
+  public void defaultZone() throws InterruptedException
+  {
+    submitAndAwait(resource::defaultZone);
+  }
+
+  @Benchmark
+  public void zone() throws InterruptedException
+  {
+    submitAndAwait(() -> resource.zone(zoneId));
+  }
+
+  private void submitAndAwait(Supplier<String> task) throws InterruptedException
+  {
+    CountDownLatch done = new CountDownLatch(concurrency);
+    for (int i = 0; i < concurrency; i++)
+      strategy.dispatch(executor, () ->
+      {
+        sink = task.get();
+        done.countDown();
+      });
+    done.await();
+  }
+}
@@ -0,0 +1,73 @@
+package fr.simplex_software.workshop.executors.benchmarks;
+
+import fr.simplex_software.workshop.executors.base.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SchedulerBenchmark
+{
+  private static final long MIN_DELAY_MILLIS = 1_000;
+  private static final long MAX_DELAY_MILLIS = 3_600_000;
+  @Param({"JDK", "WHEEL"})
+  private SchedulerMode mode;
+  @Param({"10000", "100000", "1000000"})
+  private int pending;
+  @Param("10")
+  private int tickMillis;
+  private ExecutorService workers;
+  private ScheduledExecutorService scheduler;
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    workers = Executors.newFixedThreadPool(2);
+    scheduler = switch (mode)
+    {
+      case JDK ->
+      {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2);
+        executor.setRemoveOnCancelPolicy(true);
+        yield executor;
+      }
+      case WHEEL -> new HashedWheelScheduler(Duration.ofMillis(tickMillis), 512,
+        Runtime.getRuntime().availableProcessors(), workers, 64, Thread.ofPlatform().factory());
+    };
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < pending; i++)
+      scheduler.schedule(() -> {}, random.nextLong(MIN_DELAY_MILLIS, MAX_DELAY_MILLIS + 1), TimeUnit.MILLISECONDS);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    scheduler.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  @Benchmark
+  public boolean scheduleAndCancel()
+  {
+    return scheduler.schedule(() -> {}, randomDelay(), TimeUnit.MILLISECONDS).cancel(false);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public boolean scheduleAndCancelContended()
+  {
+    return scheduler.schedule(() -> {}, randomDelay(), TimeUnit.MILLISECONDS).cancel(false);
+  }
+
+  private static long randomDelay()
+  {
+    return ThreadLocalRandom.current().nextLong(MIN_DELAY_MILLIS, MAX_DELAY_MILLIS + 1);
+  }
+}
@@ -0,0 +1,39 @@
+package fr.simplex_software.workshop.executors.benchmarks;
+
+import io.smallrye.mutiny.*;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+public enum Strategy
+{
+  FIXED(() -> Executors.newFixedThreadPool(2)),
+  WORK_STEALING(() -> Executors.newWorkStealingPool(2)),
+  THREAD_PER_TASK(() -> Executors.newThreadPerTaskExecutor(Executors.defaultThreadFactory())),
+  VIRTUAL(() -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory())),
+  SCHEDULED(() -> Executors.newScheduledThreadPool(2)),
+  COMMON_POOL(ForkJoinPool::commonPool),
+  MUTINY(Executors::newSingleThreadExecutor);
+
+  private final Supplier<ExecutorService> factory;
+
+  Strategy(Supplier<ExecutorService> factory)
+  {
+    this.factory = factory;
+  }
+
+  public ExecutorService newExecutor()
+  {
+    return factory.get();
+  }
+
+  public void dispatch(ExecutorService executor, Runnable task)
+  {
+    switch (this)
+    {
+      case COMMON_POOL -> CompletableFuture.runAsync(task);
+      case MUTINY -> Uni.createFrom().voidItem().emitOn(executor).subscribe().with(ignored -> task.run());
+      default -> executor.execute(task);
+    }
+  }
+}
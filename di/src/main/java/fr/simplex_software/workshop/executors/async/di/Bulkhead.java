@@ -0,0 +1,186 @@
+package fr.simplex_software.workshop.executors.async.di;
+
+import fr.simplex_software.workshop.executors.base.*;
+import io.micrometer.core.instrument.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class Bulkhead implements Executor, AutoCloseable
+{
+  private final String name;
+  private final int maxConcurrent;
+  private final Executor delegate;
+  private final BlockingQueue<Runnable> queue;
+  private final AtomicInteger active = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final MeterRegistry registry;
+  private final List<Meter> meters = new ArrayList<>();
+
+  public Bulkhead(String name, int maxConcurrent, int queueCapacity, Executor delegate, String module,
+                  MeterRegistry registry)
+  {
+    if (maxConcurrent < 1 || queueCapacity < 0)
+      throw new IllegalArgumentException("Bulkhead " + name + " needs a positive max-concurrent and queue-capacity >= 0");
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+    this.delegate = delegate;
+    this.queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : null;
+    this.registry = registry;
+    if (registry != null)
+    {
+      Tags tags = Tags.of("module", module, "bulkhead", name);
+      meters.add(Gauge.builder("executors.bulkhead.active", active, AtomicInteger::get).tags(tags).register(registry));
+      meters.add(Gauge.builder("executors.bulkhead.queued", this, Bulkhead::getQueueSize).tags(tags).register(registry));
+      meters.add(Gauge.builder("executors.bulkhead.limit", this, Bulkhead::getMaxConcurrent).tags(tags).register(registry));
+      meters.add(Gauge.builder("executors.bulkhead.saturation", this, Bulkhead::getSaturation).tags(tags)
+        .register(registry));
+      meters.add(FunctionCounter.builder("executors.bulkhead.rejected", rejected, LongAdder::sum).tags(tags)
+        .register(registry));
+    }
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    if (tryAcquire())
+      dispatch(command);
+    else if (queue != null && queue.offer(command))
+      drain();
+    else
+    {
+      rejected.increment();
+      TimeTask.reject(command);
+    }
+  }
+
+  private boolean tryAcquire()
+  {
+    for (int count = active.get(); count < maxConcurrent; count = active.get())
+      if (active.compareAndSet(count, count + 1))
+        return true;
+    return false;
+  }
+
+  private void dispatch(Runnable task)
+  {
+    Permit permit = new Permit(task);
+    try
+    {
+      delegate.execute(permit);
+    }
+    catch (RejectedExecutionException e)
+    {
+      permit.release();
+      throw e;
+    }
+  }
+
+  private void drain()
+  {
+    while (queue != null && !queue.isEmpty() && tryAcquire())
+    {
+      Runnable next = queue.poll();
+      if (next == null)
+        active.decrementAndGet();
+      else
+        try
+        {
+          dispatch(next);
+        }
+        catch (RejectedExecutionException e)
+        {
+          TimeTask.reject(next);
+        }
+    }
+  }
+
+  public String getName()
+  {
+    return name;
+  }
+
+  public int getActiveCount()
+  {
+    return active.get();
+  }
+
+  public int getMaxConcurrent()
+  {
+    return maxConcurrent;
+  }
+
+  public int getQueueSize()
+  {
+    return queue != null ? queue.size() : 0;
+  }
+
+  public double getSaturation()
+  {
+    return (double) active.get() / maxConcurrent;
+  }
+
+  public long getRejectedCount()
+  {
+    return rejected.sum();
+  }
+
+  @Override
+  public void close()
+  {
+    meters.forEach(registry::remove);
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(Locale.ROOT, "%s active=%d/%d queued=%d rejected=%d", name, active.get(), maxConcurrent,
+      getQueueSize(), rejected.sum());
+  }
+
+  private final class Permit implements DelegatingTask
+  {
+    private final Runnable task;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Runnable task)
+    {
+      this.task = task;
+    }
+
+    @Override
+    public Runnable delegate()
+    {
+      return task;
+    }
+
+    @Override
+    public void run()
+    {
+      try
+      {
+        task.run();
+      }
+      finally
+      {
+        release();
+      }
+    }
+
+    @Override
+    public void onReject()
+    {
+      release();
+    }
+
+    private void release()
+    {
+      if (released.compareAndSet(false, true))
+      {
+        active.decrementAndGet();
+        drain();
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package fr.simplex_software.workshop.executors.async.di;
+
+import java.util.*;
+
+public enum BulkheadClassifier
+{
+  NONE, ENDPOINT, DELAY;
+
+  public List<String> bulkheads()
+  {
+    return switch (this)
+    {
+      case NONE -> List.of();
+      case ENDPOINT -> List.of("default", "zone");
+      case DELAY -> List.of("immediate", "delayed");
+    };
+  }
+
+  public String bulkheadFor(String endpoint, int delay)
+  {
+    return switch (this)
+    {
+      case NONE -> null;
+      case ENDPOINT -> endpoint;
+      case DELAY -> delay > 0 ? "delayed" : "immediate";
+    };
+  }
+
+  public static BulkheadClassifier fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
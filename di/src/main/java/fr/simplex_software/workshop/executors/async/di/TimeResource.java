@@ -1,16 +1,64 @@
 package fr.simplex_software.workshop.executors.async.di;
 
 import fr.simplex_software.workshop.executors.base.*;
+import io.micrometer.core.instrument.*;
+import jakarta.annotation.*;
 import jakarta.inject.*;
 import jakarta.ws.rs.*;
+import org.eclipse.microprofile.config.*;
+import org.eclipse.microprofile.config.inject.*;
 
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.*;
 
 @Path("time-async-di")
 public class TimeResource extends BaseTimeResource
 {
   @Inject
   private ExecutorService executor;
+  @ConfigProperty(name = "executors.bulkhead.classifier", defaultValue = "none")
+  private BulkheadClassifier classifier;
+  @ConfigProperty(name = "executors.bulkhead.max-concurrent", defaultValue = "16")
+  private int maxConcurrent;
+  @ConfigProperty(name = "executors.bulkhead.queue-capacity", defaultValue = "100")
+  private int queueCapacity;
+  @ConfigProperty(name = "executors.metrics.enabled", defaultValue = "true")
+  private boolean metricsEnabled;
+  private Map<String, Bulkhead> bulkheads;
+
+  @PostConstruct
+  void createBulkheads()
+  {
+    Config config = ConfigProvider.getConfig();
+    bulkheads = classifier.bulkheads().stream().collect(Collectors.toUnmodifiableMap(name -> name,
+      name -> new Bulkhead(name,
+        config.getOptionalValue("executors.bulkhead." + name + ".max-concurrent", Integer.class).orElse(maxConcurrent),
+        config.getOptionalValue("executors.bulkhead." + name + ".queue-capacity", Integer.class).orElse(queueCapacity),
+        instrumentedExecutor, strategyName(), metricsEnabled ? Metrics.globalRegistry : null)));
+  }
+
+  @PreDestroy
+  void closeBulkheads()
+  {
+    bulkheads.values().forEach(Bulkhead::close);
+  }
+
+  @Override
+  protected Executor executorFor(String endpoint, int delay)
+  {
+    String name = classifier.bulkheadFor(endpoint, delay);
+    return name != null ? bulkheads.get(name) : super.executorFor(endpoint, delay);
+  }
+
+  @GET
+  @Path("admin/bulkheads")
+  public String getBulkheads()
+  {
+    if (!admin)
+      throw new NotFoundException();
+    return bulkheads.values().stream().map(Bulkhead::toString).sorted().collect(Collectors.joining("\n"));
+  }
 
   @Override
   protected ExecutorService getExecutor()
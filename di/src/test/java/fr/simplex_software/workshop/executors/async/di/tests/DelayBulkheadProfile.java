@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.async.di.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class DelayBulkheadProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.admin.enabled", "true",
+      "executors.bulkhead.classifier", "delay",
+      "executors.bulkhead.delayed.max-concurrent", "1",
+      "executors.bulkhead.delayed.queue-capacity", "1");
+  }
+}
@@ -0,0 +1,56 @@
+package fr.simplex_software.workshop.executors.async.di.tests;
+
+import fr.simplex_software.workshop.executors.async.di.*;
+import fr.simplex_software.workshop.executors.base.tests.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(DelayBulkheadProfile.class)
+public class TestBulkheadTimeResource extends BaseTimeResourceTest
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Override
+  protected URL getTimeSrvURL()
+  {
+    return timeSrvUrl;
+  }
+
+  @Test
+  public void testDelayedRequestsAreIsolated() throws Exception
+  {
+    Callable<Response> delayedRequest = () -> given().queryParam("delay", 2).when().get(timeSrvUri);
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      List<Future<Response>> delayed = new ArrayList<>();
+      for (int i = 0; i < 4; i++)
+        delayed.add(clients.submit(delayedRequest));
+      Thread.sleep(500);
+      long start = System.nanoTime();
+      assertThat(given().when().get(timeSrvUri).statusCode()).isEqualTo(HttpStatus.SC_OK);
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+      assertThat(given().when().get(timeSrvUri.resolve(timeSrvUri.getPath() + "/admin/bulkheads")).asString())
+        .contains("delayed active=1/1");
+      List<Integer> statuses = new ArrayList<>();
+      for (Future<Response> response : delayed)
+        statuses.add(response.get().statusCode());
+      assertThat(statuses).contains(HttpStatus.SC_OK, HttpStatus.SC_SERVICE_UNAVAILABLE);
+    }
+    assertThat(given().when().get(timeSrvUri.resolve("/q/metrics")).asString())
+      .contains("executors_bulkhead_saturation{bulkhead=\"delayed\",module=\"time-async-di\"}")
+      .containsPattern("executors_bulkhead_rejected_total\\{bulkhead=\"delayed\",module=\"time-async-di\"} [1-9]");
+  }
+}
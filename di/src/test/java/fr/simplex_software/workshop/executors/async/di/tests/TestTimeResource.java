@@ -4,9 +4,14 @@ import fr.simplex_software.workshop.executors.async.di.*;
 import fr.simplex_software.workshop.executors.base.tests.*;
 import io.quarkus.test.common.http.*;
 import io.quarkus.test.junit.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
 
 import java.net.*;
 
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
 @QuarkusTest
 public class TestTimeResource extends BaseTimeResourceTest
 {
@@ -19,4 +24,11 @@ public class TestTimeResource extends BaseTimeResourceTest
   {
     return timeSrvUrl;
   }
+
+  @Test
+  public void testBulkheadsEndpointIsDisabledByDefault()
+  {
+    assertThat(given().baseUri(timeSrvUri.toString()).when().get("admin/bulkheads").statusCode())
+      .isEqualTo(HttpStatus.SC_NOT_FOUND);
+  }
 }
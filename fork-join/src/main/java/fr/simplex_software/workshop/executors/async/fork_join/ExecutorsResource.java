@@ -1,58 +1,119 @@
 package fr.simplex_software.workshop.executors.async.fork_join;
 
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
 import org.slf4j.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.*;
 
 @Path("execs-steal")
+@Produces(MediaType.APPLICATION_JSON)
 public class ExecutorsResource
 {
   private static final Logger LOG = LoggerFactory.getLogger(ExecutorsResource.class);
-  private ExecutorService threadPool = Executors.newFixedThreadPool(2);
-  private ExecutorService workStealingPool = Executors.newWorkStealingPool(2);
+  private static final int MAX_TASKS = 256;
+  private static final long MAX_MILLIS = 10_000;
+  private static final long MAX_TOTAL_MILLIS = 30_000;
+  private static final int MAX_POOL_SIZE = 256;
+  private static volatile long sink;
 
   @GET
-  public void getDateAndTime(@Suspended AsyncResponse asyncResponse)
+  public PoolComparison getDateAndTime(@QueryParam("tasks") @DefaultValue("4") int tasks,
+                                       @QueryParam("longRatio") @DefaultValue("0.5") double longRatio,
+                                       @QueryParam("longMillis") @DefaultValue("3000") long longMillis,
+                                       @QueryParam("shortMillis") @DefaultValue("500") long shortMillis,
+                                       @QueryParam("work") @DefaultValue("sleep") Work work,
+                                       @QueryParam("poolSize") @DefaultValue("2") int poolSize)
   {
-    LOG.debug(">>> Testing Thread Pool:");
-    testPool(threadPool);
-    LOG.debug("\n>>> Testing Work Stealing Pool:");
-    testPool(workStealingPool);
-    threadPool.shutdown();
-    workStealingPool.shutdown();
-    asyncResponse.resume(Response.ok("OK").build());
+    if (tasks < 1 || tasks > MAX_TASKS)
+      throw new BadRequestException("The number of tasks must be between 1 and " + MAX_TASKS);
+    if (!(longRatio >= 0 && longRatio <= 1))
+      throw new BadRequestException("The long task ratio must be between 0 and 1");
+    if (longMillis < 0 || longMillis > MAX_MILLIS || shortMillis < 0 || shortMillis > MAX_MILLIS)
+      throw new BadRequestException("Task durations must be between 0 and " + MAX_MILLIS + " ms");
+    if (poolSize < 1 || poolSize > MAX_POOL_SIZE)
+      throw new BadRequestException("The pool size must be between 1 and " + MAX_POOL_SIZE);
+    long[] durations = IntStream.range(0, tasks)
+      .mapToLong(i -> Math.ceil((i + 1) * longRatio) > Math.ceil(i * longRatio) ? longMillis : shortMillis)
+      .toArray();
+    if (LongStream.of(durations).sum() > MAX_TOTAL_MILLIS)
+      throw new BadRequestException("The task durations must not add up to more than " + MAX_TOTAL_MILLIS + " ms");
+    PoolRun fixed;
+    try (ExecutorService threadPool = Executors.newFixedThreadPool(poolSize))
+    {
+      fixed = testPool("fixed", threadPool, durations, work);
+    }
+    PoolRun workStealing;
+    try (ExecutorService workStealingPool = Executors.newWorkStealingPool(poolSize))
+    {
+      workStealing = testPool("work-stealing", workStealingPool, durations, work);
+    }
+    return new PoolComparison(tasks, longRatio, longMillis, shortMillis, work, poolSize, fixed, workStealing);
   }
 
-  private static void testPool(ExecutorService pool)
+  private static PoolRun testPool(String name, ExecutorService pool, long[] durations, Work work)
   {
-    long startTime = System.currentTimeMillis();
-    CompletableFuture<?>[] futures = IntStream.range(0, 4)
+    int tasks = durations.length;
+    long[] latencies = new long[tasks];
+    String[] workers = new String[tasks];
+    long startTime = System.nanoTime();
+    CompletableFuture<?>[] futures = IntStream.range(0, tasks)
       .mapToObj(i -> CompletableFuture.runAsync(() ->
+      {
+        workers[i] = Thread.currentThread().getName();
+        perform(work, durations[i]);
+        latencies[i] = System.nanoTime() - startTime;
+      }, pool))
+      .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(futures).join();
+    long makespan = System.nanoTime() - startTime;
+    Arrays.sort(latencies);
+    SortedMap<String, Integer> tasksPerWorker = new TreeMap<>();
+    for (String worker : workers)
+      tasksPerWorker.merge(worker, 1, Integer::sum);
+    Long stealCount = pool instanceof ForkJoinPool forkJoinPool ? forkJoinPool.getStealCount() : null;
+    LOG.debug("{} pool: {} tasks in {}ms", name, tasks, TimeUnit.NANOSECONDS.toMillis(makespan));
+    return new PoolRun(name, millis(makespan), millis(percentile(latencies, 0.5)),
+      millis(percentile(latencies, 0.9)), millis(percentile(latencies, 0.99)), millis(latencies[tasks - 1]),
+      stealCount, tasksPerWorker);
+  }
+
+  private static void perform(Work work, long millis)
+  {
+    switch (work)
+    {
+      case SLEEP ->
       {
         try
         {
-          if (i % 2 == 0)
-          {
-            Thread.sleep(3000);
-            LOG.debug("Long task {} completed by {}", i, Thread.currentThread().getName());
-          } else
-          {
-            Thread.sleep(500);
-            LOG.debug("Quick task {} completed by {}", i, Thread.currentThread());
-          }
+          Thread.sleep(millis);
         }
         catch (InterruptedException e)
         {
           Thread.currentThread().interrupt();
         }
-      }, pool))
-      .toArray(CompletableFuture[]::new);
-    CompletableFuture.allOf(futures).join();
-    long duration = System.currentTimeMillis() - startTime;
-    LOG.debug("Total execution time: {}ms", duration);
+      }
+      case CPU ->
+      {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long accumulator = 0;
+        while (System.nanoTime() < deadline)
+          for (int i = 0; i < 1_000; i++)
+            accumulator = accumulator * 31 + i;
+        sink = accumulator;
+      }
+    }
+  }
+
+  private static long percentile(long[] sorted, double quantile)
+  {
+    return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+  }
+
+  private static double millis(long nanos)
+  {
+    return nanos / 1_000_000.0;
   }
 }
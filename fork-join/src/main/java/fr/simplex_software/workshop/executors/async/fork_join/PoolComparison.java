@@ -0,0 +1,6 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+public record PoolComparison(int tasks, double longRatio, long longMillis, long shortMillis, Work work,
+                             int poolSize, PoolRun fixed, PoolRun workStealing)
+{
+}
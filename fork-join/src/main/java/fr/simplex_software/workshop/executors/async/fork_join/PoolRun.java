@@ -0,0 +1,11 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import com.fasterxml.jackson.annotation.*;
+
+import java.util.*;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PoolRun(String pool, double makespanMillis, double p50Millis, double p90Millis, double p99Millis,
+                      double maxMillis, Long stealCount, SortedMap<String, Integer> tasksPerWorker)
+{
+}
@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import java.util.*;
+
+public enum Variant
+{
+  SEQUENTIAL, COMMON, DEDICATED, STREAM;
+
+  public static Variant fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
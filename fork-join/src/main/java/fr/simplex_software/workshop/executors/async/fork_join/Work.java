@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import java.util.*;
+
+public enum Work
+{
+  SLEEP, CPU;
+
+  public static Work fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
@@ -0,0 +1,8 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import java.util.*;
+
+public record ZoneTable(Variant variant, int parallelism, int threshold, int zoneCount, long elapsedMicros,
+                        long stealCount, SortedMap<String, String> times)
+{
+}
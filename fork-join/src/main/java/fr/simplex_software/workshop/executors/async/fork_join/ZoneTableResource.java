@@ -0,0 +1,64 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import fr.simplex_software.workshop.executors.base.*;
+import jakarta.annotation.*;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+import org.eclipse.microprofile.config.inject.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+@Path("zones-steal")
+@Produces(MediaType.APPLICATION_JSON)
+public class ZoneTableResource
+{
+  private static final String[] ZONE_IDS = ZoneId.getAvailableZoneIds().stream().sorted().toArray(String[]::new);
+  @ConfigProperty(name = "executors.fork-join.parallelism", defaultValue = "0")
+  private int parallelism;
+  @ConfigProperty(name = "executors.fork-join.threshold", defaultValue = "16")
+  private int defaultThreshold;
+  private ForkJoinPool dedicatedPool;
+
+  @PostConstruct
+  void postConstruct()
+  {
+    dedicatedPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  @PreDestroy
+  void cleanup()
+  {
+    dedicatedPool.shutdown();
+  }
+
+  @GET
+  public ZoneTable getZoneTable(@QueryParam("variant") @DefaultValue("common") Variant variant,
+                                @QueryParam("threshold") Integer threshold)
+  {
+    int effectiveThreshold = threshold != null ? threshold : defaultThreshold;
+    if (effectiveThreshold < 1)
+      throw new BadRequestException("The threshold must be positive");
+    ForkJoinPool pool = variant == Variant.DEDICATED ? dedicatedPool : ForkJoinPool.commonPool();
+    String[] times = new String[ZONE_IDS.length];
+    long steals = pool.getStealCount();
+    long start = System.nanoTime();
+    switch (variant)
+    {
+      case SEQUENTIAL -> IntStream.range(0, ZONE_IDS.length)
+        .forEach(i -> times[i] = ZoneCache.ofZoneId(ZONE_IDS[i]).now());
+      case COMMON, DEDICATED -> pool.invoke(new ZoneTableTask(ZONE_IDS, times, effectiveThreshold));
+      case STREAM -> IntStream.range(0, ZONE_IDS.length).parallel()
+        .forEach(i -> times[i] = ZoneCache.ofZoneId(ZONE_IDS[i]).now());
+    }
+    long elapsed = System.nanoTime() - start;
+    SortedMap<String, String> table = new TreeMap<>();
+    for (int i = 0; i < ZONE_IDS.length; i++)
+      table.put(ZONE_IDS[i], times[i]);
+    return new ZoneTable(variant, variant == Variant.SEQUENTIAL ? 1 : pool.getParallelism(), effectiveThreshold,
+      ZONE_IDS.length, TimeUnit.NANOSECONDS.toMicros(elapsed),
+      variant == Variant.SEQUENTIAL ? 0 : pool.getStealCount() - steals, table);
+  }
+}
@@ -0,0 +1,44 @@
+package fr.simplex_software.workshop.executors.async.fork_join;
+
+import fr.simplex_software.workshop.executors.base.*;
+
+import java.util.concurrent.*;
+
+public class ZoneTableTask extends RecursiveTask<Integer>
+{
+  private final String[] zoneIds;
+  private final String[] times;
+  private final int from;
+  private final int to;
+  private final int threshold;
+
+  public ZoneTableTask(String[] zoneIds, String[] times, int threshold)
+  {
+    this(zoneIds, times, 0, zoneIds.length, threshold);
+  }
+
+  private ZoneTableTask(String[] zoneIds, String[] times, int from, int to, int threshold)
+  {
+    this.zoneIds = zoneIds;
+    this.times = times;
+    this.from = from;
+    this.to = to;
+    this.threshold = threshold;
+  }
+
+  @Override
+  protected Integer compute()
+  {
+    if (to - from <= threshold)
+    {
+      for (int i = from; i < to; i++)
+        times[i] = ZoneCache.ofZoneId(zoneIds[i]).now();
+      return to - from;
+    }
+    int middle = (from + to) >>> 1;
+    ZoneTableTask left = new ZoneTableTask(zoneIds, times, from, middle, threshold);
+    left.fork();
+    int right = new ZoneTableTask(zoneIds, times, middle, to, threshold).compute();
+    return right + left.join();
+  }
+}
@@ -24,5 +24,38 @@ public class TestExecutorResource
   {
     Response response = given().when().get(url);
     assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.jsonPath().getDouble("fixed.makespanMillis")).isGreaterThanOrEqualTo(3500);
+    assertThat(response.jsonPath().getDouble("workStealing.makespanMillis")).isGreaterThanOrEqualTo(3000);
+  }
+
+  @Test
+  public void testCpuComparison()
+  {
+    Response response = given().queryParam("tasks", 16).queryParam("longRatio", 0.25)
+      .queryParam("longMillis", 40).queryParam("shortMillis", 5).queryParam("work", "cpu")
+      .queryParam("poolSize", 3).when().get(url);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.jsonPath().getMap("fixed.tasksPerWorker", String.class, Integer.class).values()
+      .stream().mapToInt(Integer::intValue).sum()).isEqualTo(16);
+    assertThat(response.jsonPath().getMap("workStealing.tasksPerWorker")).isNotEmpty();
+    assertThat(response.jsonPath().getLong("workStealing.stealCount")).isNotNegative();
+    assertThat(response.jsonPath().getString("fixed.stealCount")).isNull();
+    assertThat(response.jsonPath().getDouble("fixed.p99Millis")).isGreaterThanOrEqualTo(40);
+  }
+
+  @Test
+  public void testInvalidPoolSize()
+  {
+    assertThat(given().queryParam("poolSize", 0).when().get(url).statusCode())
+      .isEqualTo(HttpStatus.SC_BAD_REQUEST);
+  }
+
+  @Test
+  public void testOversizedRunsAreRejected()
+  {
+    assertThat(given().queryParam("tasks", 10_000).queryParam("longMillis", 1).queryParam("shortMillis", 1)
+      .when().get(url).statusCode()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+    assertThat(given().queryParam("tasks", 200).queryParam("longRatio", 0).queryParam("shortMillis", 1_000)
+      .when().get(url).statusCode()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
   }
 }
@@ -0,0 +1,65 @@
+package fr.simplex_software.workshop.executors.async.fork_join.tests;
+
+import fr.simplex_software.workshop.executors.async.fork_join.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import jdk.jfr.*;
+import jdk.jfr.consumer.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(TaskRecordingProfile.class)
+public class TestTaskEvents
+{
+  private static final String PREFIX = "fr.simplex_software.workshop.executors.";
+
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Test
+  public void testRecordingStartsWithTheApplication()
+  {
+    assertThat(FlightRecorder.getFlightRecorder().getRecordings())
+      .anyMatch(recording -> recording.getName().equals("executors") && recording.getState() == RecordingState.RUNNING);
+  }
+
+  @Test
+  public void testTaskLifecycleEventsOnTheForkJoinPool() throws Exception
+  {
+    Path file = Files.createTempFile("task-events", ".jfr");
+    try (Recording recording = new Recording())
+    {
+      for (String event : List.of("TaskSubmit", "TaskStart", "TaskEnd", "TaskResume"))
+        recording.enable(PREFIX + event).withThreshold(Duration.ZERO);
+      recording.start();
+      assertThat(given().when().get(timeSrvUrl).statusCode()).isEqualTo(HttpStatus.SC_OK);
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+      .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+      .filter(event -> "default".equals(event.getString("endpoint")))
+      .toList();
+    assertThat(events).extracting(event -> event.getEventType().getName().substring(PREFIX.length()))
+      .containsExactlyInAnyOrder("TaskSubmit", "TaskStart", "TaskEnd", "TaskResume");
+    assertThat(events).allSatisfy(event ->
+    {
+      assertThat(event.getString("strategy")).isEqualTo("time-steal");
+      assertThat(event.getDuration("delay")).isZero();
+    });
+    RecordedEvent end = events.stream().filter(event -> event.getEventType().getName().endsWith("TaskEnd"))
+      .findFirst().orElseThrow();
+    assertThat(end.getThread().getJavaName()).startsWith("ForkJoinPool");
+    Files.delete(file);
+  }
+}
@@ -4,6 +4,7 @@ import fr.simplex_software.workshop.executors.async.fork_join.*;
 import fr.simplex_software.workshop.executors.base.tests.*;
 import io.quarkus.test.common.http.*;
 import io.quarkus.test.junit.*;
+import org.junit.jupiter.api.*;
 
 import java.net.*;
 
@@ -19,4 +20,10 @@ public class TestTimeResource extends BaseTimeResourceTest
   {
     return timeSrvUrl;
   }
+
+  @Test
+  public void testTimerDelayDoesNotHoldPoolThreads() throws Exception
+  {
+    assertTimerDelayDoesNotHoldPoolThreads();
+  }
 }
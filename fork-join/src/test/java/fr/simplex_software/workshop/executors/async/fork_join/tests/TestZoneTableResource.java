@@ -0,0 +1,35 @@
+package fr.simplex_software.workshop.executors.async.fork_join.tests;
+
+import fr.simplex_software.workshop.executors.async.fork_join.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.net.*;
+import java.time.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+public class TestZoneTableResource
+{
+  @TestHTTPEndpoint(ZoneTableResource.class)
+  @TestHTTPResource
+  URL url;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"sequential", "common", "dedicated", "stream"})
+  public void testZoneTable(String variant)
+  {
+    Response response = given().queryParam("variant", variant).queryParam("threshold", 8).when().get(url);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.jsonPath().getInt("zoneCount")).isEqualTo(ZoneId.getAvailableZoneIds().size());
+    assertThat(response.jsonPath().getMap("times")).hasSize(ZoneId.getAvailableZoneIds().size())
+      .containsKey("Europe/Paris");
+    assertThat(response.jsonPath().getLong("stealCount")).isNotNegative();
+  }
+}
@@ -0,0 +1,155 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.regex.*;
+import java.util.stream.*;
+
+public class Baseline
+{
+  private static final Pattern RUNNING = Pattern.compile("Running (\\d+)(ms|s|m|h) test @ (\\S+)");
+  private static final Pattern CONNECTIONS = Pattern.compile("(\\d+) connections");
+  private static final Pattern LATENCY = Pattern.compile("^\\s+Latency\\s+([\\d.]+\\w+)\\s+([\\d.]+\\w+)\\s+([\\d.]+\\w+)");
+  private static final Pattern PERCENTILE = Pattern.compile("^\\s*(\\d+(?:\\.\\d+)?)%\\s+(\\S+)$");
+  private static final Pattern REQUESTS = Pattern.compile("^\\s*(\\d+) requests in");
+  private static final Pattern ERRORS = Pattern.compile("Socket errors: connect (\\d+), read (\\d+), write (\\d+), timeout (\\d+)");
+  private static final Pattern NON_2XX = Pattern.compile("Non-2xx or 3xx responses: (\\d+)");
+  private static final Pattern RATE = Pattern.compile("^Requests/sec:\\s+(\\S+)");
+
+  public static void main(String... args) throws IOException
+  {
+    if (args.length != 2)
+    {
+      System.err.println("Usage: baseline <wrk output such as bench.txt> <CSV baseline>");
+      System.exit(2);
+    }
+    Files.write(Path.of(args[1]), Stream.concat(Stream.of(MatrixResult.CSV_HEADER),
+      read(Path.of(args[0])).stream().map(MatrixResult::toCsv)).toList());
+  }
+
+  public static List<MatrixResult> read(Path file) throws IOException
+  {
+    List<String> lines = Files.readAllLines(file);
+    return !lines.isEmpty() && lines.getFirst().equals(MatrixResult.CSV_HEADER) ?
+      lines.stream().skip(1).filter(line -> !line.isBlank()).map(MatrixResult::fromCsv).toList() :
+      parseWrk(lines);
+  }
+
+  public static List<MatrixResult> parseWrk(List<String> lines)
+  {
+    List<MatrixResult> results = new ArrayList<>();
+    Block block = null;
+    for (String line : lines)
+    {
+      Matcher matcher;
+      if ((matcher = RUNNING.matcher(line)).find())
+      {
+        block = new Block();
+        block.duration = LoadOptions.duration(matcher.group(1) + matcher.group(2)).toSeconds();
+        URI uri = URI.create(matcher.group(3));
+        block.path = uri.getPath().replaceFirst("^/", "");
+        block.delay = delay(uri.getQuery());
+      }
+      else if (block == null)
+        continue;
+      else if ((matcher = CONNECTIONS.matcher(line)).find())
+        block.connections = Integer.parseInt(matcher.group(1));
+      else if ((matcher = LATENCY.matcher(line)).find())
+      {
+        block.avg = millis(matcher.group(1));
+        block.max = millis(matcher.group(3));
+      }
+      else if ((matcher = PERCENTILE.matcher(line)).find())
+        block.percentiles.put(Double.parseDouble(matcher.group(1)), millis(matcher.group(2)));
+      else if ((matcher = REQUESTS.matcher(line)).find())
+        block.requests = Long.parseLong(matcher.group(1));
+      else if ((matcher = ERRORS.matcher(line)).find())
+        for (int i = 1; i <= 4; i++)
+          block.errors += Long.parseLong(matcher.group(i));
+      else if ((matcher = NON_2XX.matcher(line)).find())
+        block.non2xx = Long.parseLong(matcher.group(1));
+      else if ((matcher = RATE.matcher(line)).find())
+      {
+        results.add(block.toResult(Double.parseDouble(matcher.group(1))));
+        block = null;
+      }
+    }
+    return results;
+  }
+
+  public static List<String> regressions(List<MatrixResult> current, List<MatrixResult> baseline,
+                                         double maxThroughputDrop, double maxP99Rise)
+  {
+    Map<String, MatrixResult> byKey = baseline.stream()
+      .collect(Collectors.toMap(MatrixResult::key, Function.identity(), (first, second) -> second));
+    List<String> regressions = new ArrayList<>();
+    for (MatrixResult result : current)
+    {
+      MatrixResult reference = byKey.get(result.key());
+      if (reference == null)
+        continue;
+      double drop = 1 - result.requestsPerSecond() / reference.requestsPerSecond();
+      if (drop > maxThroughputDrop)
+        regressions.add(String.format(Locale.ROOT, "%s: throughput %.2f req/s is %.1f%% below the baseline %.2f req/s",
+          result.key(), result.requestsPerSecond(), drop * 100, reference.requestsPerSecond()));
+      double rise = result.p99Millis() / reference.p99Millis() - 1;
+      if (!Double.isNaN(rise) && rise > maxP99Rise)
+        regressions.add(String.format(Locale.ROOT, "%s: p99 %.3f ms is %.1f%% above the baseline %.3f ms",
+          result.key(), result.p99Millis(), rise * 100, reference.p99Millis()));
+    }
+    return regressions;
+  }
+
+  private static int delay(String query)
+  {
+    if (query != null)
+      for (String parameter : query.split("&"))
+        if (parameter.startsWith("delay="))
+          return Integer.parseInt(parameter.substring("delay=".length()));
+    return 0;
+  }
+
+  private static double millis(String value)
+  {
+    Matcher matcher = Pattern.compile("([\\d.]+)(us|ms|s|m|h)").matcher(value);
+    if (!matcher.matches())
+      return Double.NaN;
+    double amount = Double.parseDouble(matcher.group(1));
+    return switch (matcher.group(2))
+    {
+      case "us" -> amount / 1e3;
+      case "ms" -> amount;
+      case "s" -> amount * 1e3;
+      case "m" -> amount * 60e3;
+      default -> amount * 3600e3;
+    };
+  }
+
+  private static final class Block
+  {
+    private String path;
+    private int delay;
+    private long duration;
+    private int connections;
+    private double avg = Double.NaN;
+    private double max = Double.NaN;
+    private final Map<Double, Double> percentiles = new HashMap<>();
+    private long requests;
+    private long errors;
+    private long non2xx;
+
+    private MatrixResult toResult(double requestsPerSecond)
+    {
+      return new MatrixResult(Target.moduleOf(path), path, connections, delay, duration, requests, errors, non2xx,
+        requestsPerSecond, avg, percentile(50), percentile(90), percentile(99), percentile(99.9), max);
+    }
+
+    private double percentile(double percentile)
+    {
+      return percentiles.getOrDefault(percentile, Double.NaN);
+    }
+  }
+}
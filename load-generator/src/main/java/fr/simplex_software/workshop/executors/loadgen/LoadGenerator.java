@@ -0,0 +1,132 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import org.HdrHistogram.*;
+
+import java.net.*;
+import java.net.http.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+public class LoadGenerator
+{
+  private final LoadOptions options;
+  private final HttpRequest request;
+  private final Histogram responseTime = new ConcurrentHistogram(3);
+  private final Histogram serviceTime = new ConcurrentHistogram(3);
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final LongAdder non2xx = new LongAdder();
+  private final LongAdder connectErrors = new LongAdder();
+  private final LongAdder readErrors = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private long measureStart;
+
+  private LoadGenerator(LoadOptions options)
+  {
+    this.options = options;
+    this.request = HttpRequest.newBuilder(options.uri()).timeout(options.timeout()).GET().build();
+  }
+
+  public static LoadResult run(LoadOptions options) throws InterruptedException
+  {
+    return new LoadGenerator(options).run();
+  }
+
+  private LoadResult run() throws InterruptedException
+  {
+    try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(options.timeout()).build();
+         ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      long start = System.nanoTime();
+      measureStart = start + options.warmup().toNanos();
+      long end = measureStart + options.duration().toNanos();
+      switch (options.mode())
+      {
+        case CLOSED -> runClosedLoop(client, callbacks, end);
+        case OPEN -> runOpenLoop(client, callbacks, start, end);
+      }
+      long elapsed = System.nanoTime() - measureStart;
+      Histogram corrected = options.mode() == LoadMode.OPEN ? responseTime : correct(serviceTime);
+      return new LoadResult(options, elapsed, requests.sum(), bytes.sum(), non2xx.sum(), connectErrors.sum(),
+        readErrors.sum(), timeouts.sum(), corrected, serviceTime);
+    }
+  }
+
+  private void runClosedLoop(HttpClient client, Executor callbacks, long end) throws InterruptedException
+  {
+    CountDownLatch done = new CountDownLatch(options.connections());
+    for (int i = 0; i < options.connections(); i++)
+      sendNext(client, callbacks, end, done);
+    done.await();
+  }
+
+  private void sendNext(HttpClient client, Executor callbacks, long end, CountDownLatch done)
+  {
+    long sent = System.nanoTime();
+    if (sent - end >= 0)
+    {
+      done.countDown();
+      return;
+    }
+    client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenCompleteAsync((response, error) ->
+    {
+      record(sent, sent, System.nanoTime(), response, error);
+      sendNext(client, callbacks, end, done);
+    }, callbacks);
+  }
+
+  private void runOpenLoop(HttpClient client, Executor callbacks, long start, long end) throws InterruptedException
+  {
+    Semaphore inFlight = new Semaphore(options.connections());
+    double intervalNanos = 1e9 / options.rate();
+    for (long i = 0; ; i++)
+    {
+      long intended = start + Math.round(i * intervalNanos);
+      if (intended - end >= 0)
+        break;
+      for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime())
+        LockSupport.parkNanos(wait);
+      inFlight.acquire();
+      long sent = System.nanoTime();
+      client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenCompleteAsync((response, error) ->
+      {
+        record(intended, sent, System.nanoTime(), response, error);
+        inFlight.release();
+      }, callbacks);
+    }
+    inFlight.acquire(options.connections());
+  }
+
+  private void record(long intended, long sent, long completed, HttpResponse<byte[]> response, Throwable error)
+  {
+    if (intended - measureStart < 0)
+      return;
+    if (error != null)
+    {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      switch (cause)
+      {
+        case HttpTimeoutException timeout -> timeouts.increment();
+        case ConnectException connect -> connectErrors.increment();
+        default -> readErrors.increment();
+      }
+      return;
+    }
+    requests.increment();
+    bytes.add(response.body().length);
+    if (response.statusCode() >= 400)
+      non2xx.increment();
+    serviceTime.recordValue(completed - sent);
+    if (options.mode() == LoadMode.OPEN)
+      responseTime.recordValue(completed - intended);
+  }
+
+  private Histogram correct(Histogram histogram)
+  {
+    long expectedInterval = options.expectedInterval() != null ? options.expectedInterval().toNanos() :
+      options.rate() > 0 ? Math.round(1e9 * options.connections() / options.rate()) : 0;
+    return expectedInterval > 0 ? histogram.copyCorrectedForCoordinatedOmission(expectedInterval) : histogram.copy();
+  }
+}
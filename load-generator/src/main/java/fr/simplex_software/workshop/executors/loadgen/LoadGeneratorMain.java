@@ -0,0 +1,31 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.io.*;
+
+public class LoadGeneratorMain
+{
+  public static void main(String... args) throws Exception
+  {
+    LoadOptions options;
+    try
+    {
+      options = LoadOptions.parse(args);
+    }
+    catch (IllegalArgumentException e)
+    {
+      System.err.println(e.getMessage());
+      System.err.print(LoadOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    LoadResult result = LoadGenerator.run(options);
+    result.printSummary(System.out);
+    if (options.latency())
+      result.printSpectrum(System.out);
+    if (options.hgrm() != null)
+      try (PrintStream out = new PrintStream(options.hgrm().toFile()))
+      {
+        result.responseTime().outputPercentileDistribution(out, 1e6);
+      }
+  }
+}
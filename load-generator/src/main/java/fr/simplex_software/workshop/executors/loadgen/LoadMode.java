@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public enum LoadMode
+{
+  CLOSED, OPEN;
+
+  public static LoadMode fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
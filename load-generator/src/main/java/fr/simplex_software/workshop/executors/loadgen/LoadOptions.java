@@ -0,0 +1,99 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.net.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+public record LoadOptions(URI uri, LoadMode mode, int connections, double rate, Duration duration, Duration warmup,
+                          Duration timeout, Duration expectedInterval, boolean latency, Path hgrm)
+{
+  public static final String USAGE = """
+    Usage: load-generator [options] <url>
+      -c, --connections <N>      Concurrent requests (closed loop) or maximum in-flight requests (open loop), default 50
+      -d, --duration <T>         Measured duration, e.g. 40s or 2m, default 10s
+      -R, --rate <N>             Constant arrival rate in requests/sec, switches to open loop
+      -m, --mode <closed|open>   Load mode, default closed, or open when --rate is given
+      -w, --warmup <T>           Unmeasured warm-up before the measured duration, default 0s
+      -t, --timeout <T>          Request timeout, default 10s
+      -i, --expected-interval <T> Expected interval between the requests of one closed-loop connection, used to
+                                 correct its latencies, default connections / rate, and no correction without a rate
+      -L, --latency              Print the detailed percentile spectrum
+      --hgrm <file>              Write the corrected percentile spectrum in HdrHistogram format
+    """;
+
+  public LoadOptions
+  {
+    if (connections < 1)
+      throw new IllegalArgumentException("The number of connections must be positive");
+    if (mode == LoadMode.OPEN && !(rate > 0))
+      throw new IllegalArgumentException("The open loop mode needs a positive --rate");
+  }
+
+  public LoadOptions(URI uri, LoadMode mode, int connections, double rate, Duration duration)
+  {
+    this(uri, mode, connections, rate, duration, Duration.ZERO, Duration.ofSeconds(10), null, false, null);
+  }
+
+  public static LoadOptions parse(String... args)
+  {
+    URI uri = null;
+    LoadMode mode = null;
+    int connections = 50;
+    double rate = 0;
+    Duration duration = Duration.ofSeconds(10);
+    Duration warmup = Duration.ZERO;
+    Duration timeout = Duration.ofSeconds(10);
+    Duration expectedInterval = null;
+    boolean latency = false;
+    Path hgrm = null;
+    Iterator<String> arguments = Arrays.asList(args).iterator();
+    while (arguments.hasNext())
+    {
+      String argument = arguments.next();
+      switch (argument)
+      {
+        case "-c", "--connections" -> connections = Integer.parseInt(value(argument, arguments));
+        case "-d", "--duration" -> duration = duration(value(argument, arguments));
+        case "-R", "--rate" -> rate = Double.parseDouble(value(argument, arguments));
+        case "-m", "--mode" -> mode = LoadMode.fromString(value(argument, arguments));
+        case "-w", "--warmup" -> warmup = duration(value(argument, arguments));
+        case "-t", "--timeout" -> timeout = duration(value(argument, arguments));
+        case "-i", "--expected-interval" -> expectedInterval = duration(value(argument, arguments));
+        case "-L", "--latency" -> latency = true;
+        case "--hgrm" -> hgrm = Path.of(value(argument, arguments));
+        default ->
+        {
+          if (argument.startsWith("-") || uri != null)
+            throw new IllegalArgumentException("Unexpected argument " + argument);
+          uri = URI.create(argument);
+        }
+      }
+    }
+    if (uri == null)
+      throw new IllegalArgumentException("Missing url");
+    return new LoadOptions(uri, mode != null ? mode : rate > 0 ? LoadMode.OPEN : LoadMode.CLOSED, connections, rate,
+      duration, warmup, timeout, expectedInterval, latency, hgrm);
+  }
+
+  private static String value(String option, Iterator<String> arguments)
+  {
+    if (!arguments.hasNext())
+      throw new IllegalArgumentException("Missing value for " + option);
+    return arguments.next();
+  }
+
+  public static Duration duration(String value)
+  {
+    String text = value.trim().toLowerCase(Locale.ROOT);
+    if (text.endsWith("ms"))
+      return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+    long amount = Long.parseLong(text.replaceAll("[smh]$", ""));
+    return switch (text.charAt(text.length() - 1))
+    {
+      case 'm' -> Duration.ofMinutes(amount);
+      case 'h' -> Duration.ofHours(amount);
+      default -> Duration.ofSeconds(amount);
+    };
+  }
+}
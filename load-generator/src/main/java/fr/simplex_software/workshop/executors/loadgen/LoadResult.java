@@ -0,0 +1,103 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import org.HdrHistogram.*;
+
+import java.io.*;
+import java.util.*;
+
+public record LoadResult(LoadOptions options, long elapsedNanos, long requests, long bytes, long non2xx,
+                         long connectErrors, long readErrors, long timeouts, Histogram responseTime,
+                         Histogram serviceTime)
+{
+  private static final double[] PERCENTILES = {50, 75, 90, 99, 99.9, 99.99, 99.999, 100};
+
+  public double requestsPerSecond()
+  {
+    return requests / (elapsedNanos / 1e9);
+  }
+
+  public double bytesPerSecond()
+  {
+    return bytes / (elapsedNanos / 1e9);
+  }
+
+  public long errors()
+  {
+    return connectErrors + readErrors + timeouts;
+  }
+
+  public boolean isCorrected()
+  {
+    return options.mode() == LoadMode.OPEN || options.expectedInterval() != null || options.rate() > 0;
+  }
+
+  public double percentileMillis(double percentile)
+  {
+    return responseTime.getValueAtPercentile(percentile) / 1e6;
+  }
+
+  public void printSummary(PrintStream out)
+  {
+    out.printf("Running %s test @ %s%n", options.duration().toMillis() % 1000 == 0 ?
+      options.duration().toSeconds() + "s" : options.duration().toMillis() + "ms", options.uri());
+    if (options.mode() == LoadMode.OPEN)
+      out.printf("  open loop at %.0f requests/sec and %d connections%n", options.rate(), options.connections());
+    else
+      out.printf("  closed loop and %d connections%s%n", options.connections(), isCorrected() ? "" :
+        ", latencies not corrected for coordinated omission");
+    out.printf("  Thread Stats%6s%11s%8s%12s%n", "Avg", "Stdev", "Max", "+/- Stdev");
+    out.printf("    %-10s%8s%10s%9s%8.2f%%%n", "Latency", time(responseTime.getMean()),
+      time(responseTime.getStdDeviation()), time(responseTime.getMaxValue()), withinStdev(responseTime));
+    out.println("  Latency Distribution (HdrHistogram - Recorded Latency)");
+    for (double percentile : PERCENTILES)
+      out.printf("%7.3f%%%10s%n", percentile, time(responseTime.getValueAtPercentile(percentile)));
+    out.printf("  %d requests in %.2fs, %s read%n", requests, elapsedNanos / 1e9, size(bytes));
+    if (non2xx > 0)
+      out.printf("  Non-2xx or 3xx responses: %d%n", non2xx);
+    if (errors() > 0)
+      out.printf("  Socket errors: connect %d, read %d, write 0, timeout %d%n", connectErrors, readErrors, timeouts);
+    out.printf("Requests/sec: %10.2f%n", requestsPerSecond());
+    out.printf("Transfer/sec: %10s%n", size(bytesPerSecond()));
+  }
+
+  public void printSpectrum(PrintStream out)
+  {
+    out.println("  Detailed Percentile spectrum:");
+    responseTime.outputPercentileDistribution(out, 1e6);
+    out.println(options.mode() == LoadMode.OPEN ?
+      "  Service Time (measured from the actual send, without the wait for a free connection):" :
+      "  Uncorrected Latency (measured without taking delayed starts into account):");
+    serviceTime.outputPercentileDistribution(out, 1e6);
+  }
+
+  private static double withinStdev(Histogram histogram)
+  {
+    if (histogram.getTotalCount() == 0)
+      return 0;
+    double mean = histogram.getMean();
+    double stdev = histogram.getStdDeviation();
+    long within = 0;
+    for (HistogramIterationValue value : histogram.recordedValues())
+      if (Math.abs(value.getValueIteratedTo() - mean) <= stdev)
+        within += value.getCountAddedInThisIterationStep();
+    return 100.0 * within / histogram.getTotalCount();
+  }
+
+  private static String time(double nanos)
+  {
+    if (nanos < 1e6)
+      return String.format(Locale.ROOT, "%.2fus", nanos / 1e3);
+    if (nanos < 1e9)
+      return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+    return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+  }
+
+  private static String size(double bytes)
+  {
+    String[] units = {"B", "KB", "MB", "GB", "TB"};
+    int unit = 0;
+    for (; bytes >= 1024 && unit < units.length - 1; unit++)
+      bytes /= 1024;
+    return String.format(Locale.ROOT, "%.2f%s", bytes, units[unit]);
+  }
+}
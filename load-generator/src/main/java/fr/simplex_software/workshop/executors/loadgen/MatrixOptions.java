@@ -0,0 +1,101 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.function.*;
+
+public record MatrixOptions(Path root, List<Target> targets, List<Integer> connections, List<Integer> delays,
+                            List<Duration> durations, Duration warmup, LoadMode mode, double rate, int port,
+                            boolean build, Duration readiness, Path output, Path baseline, double maxThroughputDrop,
+                            double maxP99Rise)
+{
+  public static final String USAGE = """
+    Usage: matrix-runner [options]
+      --root <dir>                  Project root, default the current directory
+      --modules <m1,m2>             Modules to run, default all service modules
+      --paths <p1,p2>               Endpoints to run, default all the endpoints of the selected modules
+      -c, --connections <N1,N2>     Connection counts, default 50
+      --delays <D1,D2>              Values of ?delay in seconds, default 0
+      -d, --durations <T1,T2>       Measured durations, default 40s
+      -w, --warmup <T>              Unmeasured warm-up before each run, default 10s
+      -m, --mode <closed|open>      Load mode, default closed
+      -R, --rate <N>                Arrival rate of the open loop in requests/sec
+      --port <N>                    HTTP port of the started modules, default 8080
+      --skip-build                  Use the quarkus-run.jar already built
+      --readiness-timeout <T>       Maximum wait for a module to answer, default 60s
+      -o, --output <dir>            Results directory, default load-generator/target/matrix
+      --baseline <file>             Baseline to compare with, CSV results or wrk output such as bench.txt
+      --max-throughput-drop <R>     Tolerated throughput drop ratio, default 0.1
+      --max-p99-rise <R>            Tolerated p99 rise ratio, default 0.2
+    """;
+
+  public static MatrixOptions parse(String... args)
+  {
+    Path root = Path.of(".");
+    Set<String> modules = null;
+    Set<String> paths = null;
+    List<Integer> connections = List.of(50);
+    List<Integer> delays = List.of(0);
+    List<Duration> durations = List.of(Duration.ofSeconds(40));
+    Duration warmup = Duration.ofSeconds(10);
+    LoadMode mode = LoadMode.CLOSED;
+    double rate = 0;
+    int port = 8080;
+    boolean build = true;
+    Duration readiness = Duration.ofSeconds(60);
+    Path output = null;
+    Path baseline = null;
+    double maxThroughputDrop = 0.1;
+    double maxP99Rise = 0.2;
+    Iterator<String> arguments = Arrays.asList(args).iterator();
+    while (arguments.hasNext())
+    {
+      String argument = arguments.next();
+      switch (argument)
+      {
+        case "--root" -> root = Path.of(value(argument, arguments));
+        case "--modules" -> modules = Set.of(value(argument, arguments).split(","));
+        case "--paths" -> paths = Set.of(value(argument, arguments).split(","));
+        case "-c", "--connections" -> connections = list(value(argument, arguments), Integer::valueOf);
+        case "--delays" -> delays = list(value(argument, arguments), Integer::valueOf);
+        case "-d", "--durations" -> durations = list(value(argument, arguments), LoadOptions::duration);
+        case "-w", "--warmup" -> warmup = LoadOptions.duration(value(argument, arguments));
+        case "-m", "--mode" -> mode = LoadMode.fromString(value(argument, arguments));
+        case "-R", "--rate" -> rate = Double.parseDouble(value(argument, arguments));
+        case "--port" -> port = Integer.parseInt(value(argument, arguments));
+        case "--skip-build" -> build = false;
+        case "--readiness-timeout" -> readiness = LoadOptions.duration(value(argument, arguments));
+        case "-o", "--output" -> output = Path.of(value(argument, arguments));
+        case "--baseline" -> baseline = Path.of(value(argument, arguments));
+        case "--max-throughput-drop" -> maxThroughputDrop = Double.parseDouble(value(argument, arguments));
+        case "--max-p99-rise" -> maxP99Rise = Double.parseDouble(value(argument, arguments));
+        default -> throw new IllegalArgumentException("Unexpected argument " + argument);
+      }
+    }
+    Set<String> selectedModules = modules;
+    Set<String> selectedPaths = paths;
+    List<Target> targets = Target.DEFAULTS.stream()
+      .filter(target -> selectedModules == null || selectedModules.contains(target.module()))
+      .filter(target -> selectedPaths == null || selectedPaths.contains(target.path()))
+      .toList();
+    if (targets.isEmpty())
+      throw new IllegalArgumentException("No endpoint selected");
+    if (mode == LoadMode.OPEN && !(rate > 0))
+      throw new IllegalArgumentException("The open loop mode needs a positive --rate");
+    return new MatrixOptions(root, targets, connections, delays, durations, warmup, mode, rate, port, build, readiness,
+      output != null ? output : root.resolve("load-generator/target/matrix"), baseline, maxThroughputDrop, maxP99Rise);
+  }
+
+  private static String value(String option, Iterator<String> arguments)
+  {
+    if (!arguments.hasNext())
+      throw new IllegalArgumentException("Missing value for " + option);
+    return arguments.next();
+  }
+
+  private static <T> List<T> list(String value, Function<String, T> parser)
+  {
+    return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).map(parser).toList();
+  }
+}
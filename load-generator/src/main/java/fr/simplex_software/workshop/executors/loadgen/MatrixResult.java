@@ -0,0 +1,68 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public record MatrixResult(String module, String path, int connections, int delay, long durationSeconds,
+                           long requests, long errors, long non2xx, double requestsPerSecond, double avgMillis,
+                           double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis)
+{
+  public static final String CSV_HEADER = "module,path,connections,delay,duration_s,requests,errors,non2xx," +
+    "requests_per_sec,avg_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+  public static MatrixResult of(Target target, int delay, LoadResult result)
+  {
+    return new MatrixResult(target.module(), target.path(), result.options().connections(), delay,
+      result.options().duration().toSeconds(), result.requests(), result.errors(), result.non2xx(),
+      result.requestsPerSecond(), result.responseTime().getMean() / 1e6, result.percentileMillis(50),
+      result.percentileMillis(90), result.percentileMillis(99), result.percentileMillis(99.9),
+      result.responseTime().getMaxValue() / 1e6);
+  }
+
+  public String key()
+  {
+    return path + "|" + connections + "|" + delay;
+  }
+
+  public String toCsv()
+  {
+    return String.join(",", module, path, String.valueOf(connections), String.valueOf(delay),
+      String.valueOf(durationSeconds), String.valueOf(requests), String.valueOf(errors), String.valueOf(non2xx),
+      number(requestsPerSecond), number(avgMillis), number(p50Millis), number(p90Millis), number(p99Millis),
+      number(p999Millis), number(maxMillis));
+  }
+
+  public static MatrixResult fromCsv(String line)
+  {
+    String[] fields = line.split(",", -1);
+    if (fields.length != 15)
+      throw new IllegalArgumentException("Expected 15 fields in " + line);
+    return new MatrixResult(fields[0], fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+      Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]), Long.parseLong(fields[7]),
+      number(fields[8]), number(fields[9]), number(fields[10]), number(fields[11]), number(fields[12]),
+      number(fields[13]), number(fields[14]));
+  }
+
+  public String toJson()
+  {
+    return String.format(Locale.ROOT, "{\"module\":\"%s\",\"path\":\"%s\",\"connections\":%d,\"delay\":%d," +
+        "\"durationSeconds\":%d,\"requests\":%d,\"errors\":%d,\"non2xx\":%d,\"requestsPerSecond\":%s," +
+        "\"avgMillis\":%s,\"p50Millis\":%s,\"p90Millis\":%s,\"p99Millis\":%s,\"p999Millis\":%s,\"maxMillis\":%s}",
+      module, path, connections, delay, durationSeconds, requests, errors, non2xx, json(requestsPerSecond),
+      json(avgMillis), json(p50Millis), json(p90Millis), json(p99Millis), json(p999Millis), json(maxMillis));
+  }
+
+  private static String number(double value)
+  {
+    return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  private static double number(String value)
+  {
+    return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+  }
+
+  private static String json(double value)
+  {
+    return Double.isNaN(value) ? "null" : number(value);
+  }
+}
@@ -0,0 +1,135 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.io.*;
+import java.net.*;
+import java.net.http.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+public class MatrixRunner
+{
+  private static final System.Logger LOG = System.getLogger(MatrixRunner.class.getName());
+  private final MatrixOptions options;
+
+  private MatrixRunner(MatrixOptions options)
+  {
+    this.options = options;
+  }
+
+  public static void main(String... args) throws Exception
+  {
+    MatrixOptions options;
+    try
+    {
+      options = MatrixOptions.parse(args);
+    }
+    catch (IllegalArgumentException e)
+    {
+      System.err.println(e.getMessage());
+      System.err.print(MatrixOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    System.exit(new MatrixRunner(options).run());
+  }
+
+  private int run() throws Exception
+  {
+    Map<String, List<Target>> byModule = options.targets().stream()
+      .collect(Collectors.groupingBy(Target::module, LinkedHashMap::new, Collectors.toList()));
+    if (options.build())
+      build(byModule.keySet());
+    Files.createDirectories(options.output());
+    List<MatrixResult> results = new ArrayList<>();
+    for (Map.Entry<String, List<Target>> module : byModule.entrySet())
+      results.addAll(runModule(module.getKey(), module.getValue()));
+    write(results);
+    if (options.baseline() == null)
+      return 0;
+    List<String> regressions = Baseline.regressions(results, Baseline.read(options.baseline()),
+      options.maxThroughputDrop(), options.maxP99Rise());
+    regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+    System.out.printf("%d regression(s) against %s%n", regressions.size(), options.baseline());
+    return regressions.isEmpty() ? 0 : 1;
+  }
+
+  private void build(Collection<String> modules) throws IOException, InterruptedException
+  {
+    List<String> command = List.of("mvn", "-B", "-q", "package", "-DskipTests", "-am", "-pl", String.join(",", modules));
+    Process process = new ProcessBuilder(command).directory(options.root().toFile()).inheritIO().start();
+    if (process.waitFor() != 0)
+      throw new IllegalStateException("The build failed: " + String.join(" ", command));
+  }
+
+  private List<MatrixResult> runModule(String module, List<Target> targets) throws Exception
+  {
+    Path jar = options.root().resolve(module).resolve("target/quarkus-app/quarkus-run.jar");
+    if (!Files.exists(jar))
+      throw new IllegalStateException("Missing " + jar + ", build the module or drop --skip-build");
+    Path log = options.output().resolve(module + ".log");
+    Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+      "-Dquarkus.http.port=" + options.port(), "-jar", jar.toString())
+      .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    try
+    {
+      awaitReadiness(process, URI.create("http://localhost:" + options.port() + "/" + targets.getFirst().path()));
+      List<MatrixResult> results = new ArrayList<>();
+      for (Target target : targets)
+        for (int connections : options.connections())
+          for (int delay : options.delays())
+            for (Duration duration : options.durations())
+            {
+              URI uri = URI.create("http://localhost:" + options.port() + "/" + target.path() +
+                (delay > 0 ? "?delay=" + delay : ""));
+              LoadResult result = LoadGenerator.run(new LoadOptions(uri, options.mode(), connections, options.rate(),
+                duration, options.warmup(), Duration.ofSeconds(10L + delay), null, false, null));
+              result.printSummary(System.out);
+              System.out.println();
+              results.add(MatrixResult.of(target, delay, result));
+            }
+      return results;
+    }
+    finally
+    {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS))
+        process.destroyForcibly().waitFor();
+    }
+  }
+
+  private void awaitReadiness(Process process, URI uri) throws InterruptedException
+  {
+    long deadline = System.nanoTime() + options.readiness().toNanos();
+    try (HttpClient client = HttpClient.newHttpClient())
+    {
+      HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(1)).build();
+      while (System.nanoTime() - deadline < 0)
+      {
+        if (!process.isAlive())
+          throw new IllegalStateException("The module stopped with exit code " + process.exitValue());
+        try
+        {
+          if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+            return;
+        }
+        catch (IOException e)
+        {
+          LOG.log(System.Logger.Level.DEBUG, "{0} is not ready yet: {1}", uri, e);
+        }
+        Thread.sleep(200);
+      }
+    }
+    throw new IllegalStateException(uri + " was not ready after " + options.readiness());
+  }
+
+  private void write(List<MatrixResult> results) throws IOException
+  {
+    Files.write(options.output().resolve("results.csv"), Stream.concat(Stream.of(MatrixResult.CSV_HEADER),
+      results.stream().map(MatrixResult::toCsv)).toList());
+    Files.writeString(options.output().resolve("results.json"),
+      results.stream().map(MatrixResult::toJson).collect(Collectors.joining(",\n  ", "[\n  ", "\n]\n")));
+  }
+}
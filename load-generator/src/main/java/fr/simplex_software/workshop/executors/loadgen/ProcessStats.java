@@ -0,0 +1,98 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+public record ProcessStats(long rssKb, int threads)
+{
+  private static final Pattern HEAP = Pattern.compile("total (\\d+)K, used (\\d+)K");
+  private static final Pattern STACK = Pattern.compile("\\(stack: reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+
+  public static Optional<ProcessStats> of(long pid)
+  {
+    try
+    {
+      return parseStatus(Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")));
+    }
+    catch (IOException e)
+    {
+      return Optional.empty();
+    }
+  }
+
+  public static Optional<ProcessStats> parseStatus(List<String> status)
+  {
+    try
+    {
+      long rss = -1;
+      int threads = -1;
+      for (String line : status)
+        if (line.startsWith("VmRSS:"))
+          rss = Long.parseLong(line.replaceAll("\\D", ""));
+        else if (line.startsWith("Threads:"))
+          threads = Integer.parseInt(line.replaceAll("\\D", ""));
+      return rss < 0 || threads < 0 ? Optional.empty() : Optional.of(new ProcessStats(rss, threads));
+    }
+    catch (NumberFormatException e)
+    {
+      return Optional.empty();
+    }
+  }
+
+  public static long heapUsedKb(long pid)
+  {
+    return parseHeapUsedKb(jcmd(pid, "GC.heap_info"));
+  }
+
+  public static long parseHeapUsedKb(String heapInfo)
+  {
+    Matcher matcher = HEAP.matcher(heapInfo);
+    long used = 0;
+    boolean found = false;
+    while (matcher.find())
+    {
+      used += Long.parseLong(matcher.group(2));
+      found = true;
+    }
+    return found ? used : -1;
+  }
+
+  public static long stackCommittedKb(long pid)
+  {
+    return parseStackCommittedKb(jcmd(pid, "VM.native_memory", "summary"));
+  }
+
+  public static long parseStackCommittedKb(String nativeMemory)
+  {
+    Matcher matcher = STACK.matcher(nativeMemory);
+    return matcher.find() ? Long.parseLong(matcher.group(2)) : -1;
+  }
+
+  private static String jcmd(long pid, String... command)
+  {
+    List<String> arguments = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(),
+      String.valueOf(pid)));
+    arguments.addAll(List.of(command));
+    try
+    {
+      Process process = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+      String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+      if (!process.waitFor(30, TimeUnit.SECONDS))
+        process.destroyForcibly();
+      return output;
+    }
+    catch (IOException e)
+    {
+      return "";
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      return "";
+    }
+  }
+}
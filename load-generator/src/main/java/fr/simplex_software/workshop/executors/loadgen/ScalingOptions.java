@@ -0,0 +1,89 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.function.*;
+
+public record ScalingOptions(Path root, List<Target> targets, List<Integer> concurrencies, int delay, Duration ramp,
+                             Duration timeout, Duration sampleInterval, List<String> jvmArgs, int port, boolean build,
+                             Duration readiness, Path output)
+{
+  public static final List<String> DEFAULT_PATHS = List.of("time-async-tpt", "time-async-tptv", "time-vt", "time-ex",
+    "time-steal", "time-scheduled", "time-react");
+  public static final String USAGE = """
+    Usage: scaling-runner [options]
+      --root <dir>                  Project root, default the current directory
+      --paths <p1,p2>               Endpoints to run, default time-async-tpt,time-async-tptv,time-vt,time-ex,
+                                    time-steal,time-scheduled,time-react
+      -c, --concurrency <N1,N2>     Concurrent requests held open, default 1000,10000,50000
+      --delay <N>                   Value of ?delay in seconds, default 10
+      --ramp <T>                    Time over which the requests are sent, default 5s
+      -t, --timeout <T>             Request timeout on top of the delay and the ramp, default 60s
+      --sample-interval <T>         Period of the RSS, thread and concurrency samples, default 500ms
+      --jvm-args <a1,a2>            Extra JVM options of the started modules, e.g. -Xmx2g
+      --port <N>                    HTTP port of the started modules, default 8080
+      --skip-build                  Use the quarkus-run.jar already built
+      --readiness-timeout <T>       Maximum wait for a module to be ready, default 60s
+      -o, --output <dir>            Results directory, default load-generator/target/scaling
+    """;
+
+  public static ScalingOptions parse(String... args)
+  {
+    Path root = Path.of(".");
+    Set<String> paths = new LinkedHashSet<>(DEFAULT_PATHS);
+    List<Integer> concurrencies = List.of(1_000, 10_000, 50_000);
+    int delay = 10;
+    Duration ramp = Duration.ofSeconds(5);
+    Duration timeout = Duration.ofSeconds(60);
+    Duration sampleInterval = Duration.ofMillis(500);
+    List<String> jvmArgs = List.of();
+    int port = 8080;
+    boolean build = true;
+    Duration readiness = Duration.ofSeconds(60);
+    Path output = null;
+    Iterator<String> arguments = Arrays.asList(args).iterator();
+    while (arguments.hasNext())
+    {
+      String argument = arguments.next();
+      switch (argument)
+      {
+        case "--root" -> root = Path.of(value(argument, arguments));
+        case "--paths" -> paths = new LinkedHashSet<>(list(value(argument, arguments), Function.identity()));
+        case "-c", "--concurrency" -> concurrencies = list(value(argument, arguments), Integer::valueOf);
+        case "--delay" -> delay = Integer.parseInt(value(argument, arguments));
+        case "--ramp" -> ramp = LoadOptions.duration(value(argument, arguments));
+        case "-t", "--timeout" -> timeout = LoadOptions.duration(value(argument, arguments));
+        case "--sample-interval" -> sampleInterval = LoadOptions.duration(value(argument, arguments));
+        case "--jvm-args" -> jvmArgs = list(value(argument, arguments), Function.identity());
+        case "--port" -> port = Integer.parseInt(value(argument, arguments));
+        case "--skip-build" -> build = false;
+        case "--readiness-timeout" -> readiness = LoadOptions.duration(value(argument, arguments));
+        case "-o", "--output" -> output = Path.of(value(argument, arguments));
+        default -> throw new IllegalArgumentException("Unexpected argument " + argument);
+      }
+    }
+    List<Target> targets = paths.stream().map(path -> Target.DEFAULTS.stream()
+        .filter(target -> target.path().equals(path)).findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + path)))
+      .toList();
+    if (targets.isEmpty())
+      throw new IllegalArgumentException("No endpoint selected");
+    if (concurrencies.stream().anyMatch(concurrency -> concurrency < 1) || delay < 0)
+      throw new IllegalArgumentException("The concurrency must be positive and the delay must not be negative");
+    return new ScalingOptions(root, targets, concurrencies, delay, ramp, timeout, sampleInterval, jvmArgs, port, build,
+      readiness, output != null ? output : root.resolve("load-generator/target/scaling"));
+  }
+
+  private static String value(String option, Iterator<String> arguments)
+  {
+    if (!arguments.hasNext())
+      throw new IllegalArgumentException("Missing value for " + option);
+    return arguments.next();
+  }
+
+  private static <T> List<T> list(String value, Function<String, T> parser)
+  {
+    return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).map(parser).toList();
+  }
+}
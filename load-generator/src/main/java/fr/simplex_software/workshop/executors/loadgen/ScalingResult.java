@@ -0,0 +1,53 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public record ScalingResult(String module, String path, int concurrency, int delay, long sent, long completed,
+                           long errors, long non2xx, int clientPeakInFlight, double rssMb, int threads,
+                           double heapUsedMb, double stackCommittedMb, double p50Millis, double p90Millis,
+                           double p99Millis, double maxMillis, boolean alive)
+{
+  public static final String CSV_HEADER = "module,path,concurrency,delay,sent,completed,errors,non2xx," +
+    "client_peak_in_flight,rss_mb,threads,heap_used_mb,stack_committed_mb,p50_ms,p90_ms,p99_ms,max_ms,alive";
+
+  public String toCsv()
+  {
+    return String.join(",", module, path, String.valueOf(concurrency), String.valueOf(delay), String.valueOf(sent),
+      String.valueOf(completed), String.valueOf(errors), String.valueOf(non2xx), String.valueOf(clientPeakInFlight),
+      number(rssMb), String.valueOf(threads), number(heapUsedMb), number(stackCommittedMb), number(p50Millis),
+      number(p90Millis), number(p99Millis), number(maxMillis), String.valueOf(alive));
+  }
+
+  public String toJson()
+  {
+    return String.format(Locale.ROOT, "{\"module\":\"%s\",\"path\":\"%s\",\"concurrency\":%d,\"delay\":%d," +
+        "\"sent\":%d,\"completed\":%d,\"errors\":%d,\"non2xx\":%d,\"clientPeakInFlight\":%d,\"rssMb\":%s," +
+        "\"threads\":%d,\"heapUsedMb\":%s,\"stackCommittedMb\":%s,\"p50Millis\":%s,\"p90Millis\":%s,\"p99Millis\":%s," +
+        "\"maxMillis\":%s,\"alive\":%b}",
+      module, path, concurrency, delay, sent, completed, errors, non2xx, clientPeakInFlight, json(rssMb), threads,
+      json(heapUsedMb), json(stackCommittedMb), json(p50Millis), json(p90Millis), json(p99Millis), json(maxMillis),
+      alive);
+  }
+
+  public String toMarkdown()
+  {
+    return String.format(Locale.ROOT, "| %s | %d/%d | %d | %d | %d | %s | %s | %d | %s | %s | %s | %s |", path,
+      completed, sent, errors, non2xx, clientPeakInFlight, text(rssMb), text(heapUsedMb), threads,
+      text(stackCommittedMb), text(p50Millis), text(p99Millis), text(maxMillis));
+  }
+
+  private static String number(double value)
+  {
+    return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  private static String json(double value)
+  {
+    return Double.isNaN(value) ? "null" : number(value);
+  }
+
+  private static String text(double value)
+  {
+    return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%.0f", value);
+  }
+}
@@ -0,0 +1,224 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import org.HdrHistogram.*;
+
+import java.io.*;
+import java.net.*;
+import java.net.http.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.stream.*;
+
+public class ScalingRunner
+{
+  private static final System.Logger LOG = System.getLogger(ScalingRunner.class.getName());
+  private final ScalingOptions options;
+
+  private ScalingRunner(ScalingOptions options)
+  {
+    this.options = options;
+  }
+
+  public static void main(String... args) throws Exception
+  {
+    ScalingOptions options;
+    try
+    {
+      options = ScalingOptions.parse(args);
+    }
+    catch (IllegalArgumentException e)
+    {
+      System.err.println(e.getMessage());
+      System.err.print(ScalingOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    new ScalingRunner(options).run();
+  }
+
+  private void run() throws Exception
+  {
+    if (options.build())
+      build();
+    Files.createDirectories(options.output());
+    List<ScalingResult> results = new ArrayList<>();
+    for (Target target : options.targets())
+      for (int concurrency : options.concurrencies())
+      {
+        ScalingResult result = start(target, concurrency);
+        System.out.println(result.toMarkdown());
+        results.add(result);
+      }
+    List<String> report = report(results);
+    System.out.println();
+    report.forEach(System.out::println);
+    Files.write(options.output().resolve("report.md"), report);
+    Files.write(options.output().resolve("results.csv"), Stream.concat(Stream.of(ScalingResult.CSV_HEADER),
+      results.stream().map(ScalingResult::toCsv)).toList());
+    Files.writeString(options.output().resolve("results.json"),
+      results.stream().map(ScalingResult::toJson).collect(Collectors.joining(",\n  ", "[\n  ", "\n]\n")));
+  }
+
+  private void build() throws IOException, InterruptedException
+  {
+    List<String> command = List.of("mvn", "-B", "-q", "package", "-DskipTests", "-am", "-pl",
+      options.targets().stream().map(Target::module).distinct().collect(Collectors.joining(",")));
+    Process process = new ProcessBuilder(command).directory(options.root().toFile()).inheritIO().start();
+    if (process.waitFor() != 0)
+      throw new IllegalStateException("The build failed: " + String.join(" ", command));
+  }
+
+  private ScalingResult start(Target target, int concurrency) throws Exception
+  {
+    Path jar = options.root().resolve(target.module()).resolve("target/quarkus-app/quarkus-run.jar");
+    if (!Files.exists(jar))
+      throw new IllegalStateException("Missing " + jar + ", build the module or drop --skip-build");
+    List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+      "-XX:NativeMemoryTracking=summary"));
+    command.addAll(options.jvmArgs());
+    command.addAll(List.of("-Dquarkus.http.port=" + options.port(), "-jar", jar.toString()));
+    Path log = options.output().resolve(target.path() + "-" + concurrency + ".log");
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(10)).build())
+    {
+      URI root = URI.create("http://localhost:" + options.port() + "/");
+      awaitReadiness(client, process, root.resolve("q/health/ready"));
+      return measure(client, process, target, concurrency,
+        root.resolve(target.path() + (options.delay() > 0 ? "?delay=" + options.delay() : "")));
+    }
+    finally
+    {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS))
+        process.destroyForcibly().waitFor();
+    }
+  }
+
+  private void awaitReadiness(HttpClient client, Process process, URI uri) throws InterruptedException
+  {
+    long deadline = System.nanoTime() + options.readiness().toNanos();
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(1)).build();
+    while (System.nanoTime() - deadline < 0)
+    {
+      if (!process.isAlive())
+        throw new IllegalStateException("The module stopped with exit code " + process.exitValue());
+      try
+      {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+          return;
+      }
+      catch (IOException e)
+      {
+        LOG.log(System.Logger.Level.DEBUG, "{0} is not ready yet: {1}", uri, e);
+      }
+      Thread.sleep(200);
+    }
+    throw new IllegalStateException(uri + " was not ready after " + options.readiness());
+  }
+
+  private ScalingResult measure(HttpClient client, Process process, Target target, int concurrency, URI uri)
+    throws InterruptedException
+  {
+    Duration delay = Duration.ofSeconds(options.delay());
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(delay.plus(options.ramp()).plus(options.timeout()))
+      .GET().build();
+    Histogram completion = new ConcurrentHistogram(3);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger clientPeakInFlight = new AtomicInteger();
+    AtomicLong peakRss = new AtomicLong(-1);
+    AtomicInteger peakThreads = new AtomicInteger(-1);
+    LongAdder sent = new LongAdder();
+    LongAdder completed = new LongAdder();
+    LongAdder errors = new LongAdder();
+    LongAdder non2xx = new LongAdder();
+    CountDownLatch done = new CountDownLatch(concurrency);
+    long pid = process.pid();
+    try (ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor())
+    {
+      sampler.scheduleAtFixedRate(() -> ProcessStats.of(pid).ifPresent(stats ->
+      {
+        peakRss.accumulateAndGet(stats.rssKb(), Math::max);
+        peakThreads.accumulateAndGet(stats.threads(), Math::max);
+      }), 0, options.sampleInterval().toMillis(), TimeUnit.MILLISECONDS);
+      long start = System.nanoTime();
+      double intervalNanos = (double) options.ramp().toNanos() / concurrency;
+      for (int i = 0; i < concurrency; i++)
+      {
+        long intended = start + Math.round(i * intervalNanos);
+        for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime())
+          LockSupport.parkNanos(wait);
+        clientPeakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        long sentNanos = System.nanoTime();
+        try
+        {
+          client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) ->
+          {
+            inFlight.decrementAndGet();
+            if (error != null)
+              errors.increment();
+            else
+            {
+              completed.increment();
+              completion.recordValue(System.nanoTime() - sentNanos);
+              if (response.statusCode() / 100 != 2)
+                non2xx.increment();
+            }
+            done.countDown();
+          });
+          sent.increment();
+        }
+        catch (RuntimeException e)
+        {
+          inFlight.decrementAndGet();
+          errors.increment();
+          done.countDown();
+        }
+      }
+      Thread.sleep(delay.toMillis() / 2);
+      long heapUsed = process.isAlive() ? ProcessStats.heapUsedKb(pid) : -1;
+      long stackCommitted = process.isAlive() ? ProcessStats.stackCommittedKb(pid) : -1;
+      if (!done.await(delay.plus(options.ramp()).plus(options.timeout()).toMillis(), TimeUnit.MILLISECONDS))
+        LOG.log(System.Logger.Level.WARNING, "{0} requests to {1} did not complete", done.getCount(), uri);
+      boolean alive = process.isAlive();
+      sampler.shutdownNow();
+      return new ScalingResult(target.module(), target.path(), concurrency, options.delay(), sent.sum(),
+        completed.sum(), errors.sum(), non2xx.sum(), clientPeakInFlight.get(), megabytes(peakRss.get()),
+        peakThreads.get(), megabytes(heapUsed), megabytes(stackCommitted), millis(completion, 50),
+        millis(completion, 90), millis(completion, 99),
+        completion.getTotalCount() > 0 ? completion.getMaxValue() / 1e6 : Double.NaN, alive);
+    }
+  }
+
+  private static double megabytes(long kilobytes)
+  {
+    return kilobytes < 0 ? Double.NaN : kilobytes / 1024.0;
+  }
+
+  private static double millis(Histogram histogram, double percentile)
+  {
+    return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1e6 : Double.NaN;
+  }
+
+  private List<String> report(List<ScalingResult> results)
+  {
+    List<String> report = new ArrayList<>();
+    report.add(String.format(Locale.ROOT, "# %d-second requests held open", options.delay()));
+    for (int concurrency : options.concurrencies())
+    {
+      report.add("");
+      report.add(String.format(Locale.ROOT, "## %,d concurrent requests", concurrency));
+      report.add("");
+      report.add("| endpoint | completed | errors | non-2xx | client peak in flight | RSS MB | heap MB | threads | " +
+        "stacks MB | p50 ms | p99 ms | max ms |");
+      report.add("|---|---|---|---|---|---|---|---|---|---|---|---|");
+      results.stream().filter(result -> result.concurrency() == concurrency).map(ScalingResult::toMarkdown)
+        .forEach(report::add);
+    }
+    return report;
+  }
+}
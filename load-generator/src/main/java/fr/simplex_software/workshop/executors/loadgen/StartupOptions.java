@@ -0,0 +1,76 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+public record StartupOptions(Path root, List<Target> targets, List<StartupVariant> variants, int runs, int requests,
+                             int connections, int port, boolean build, Duration readiness, Path output)
+{
+  public static final String USAGE = """
+    Usage: startup-runner [options]
+      --root <dir>                  Project root, default the current directory
+      --modules <m1,m2>             Modules to start, default all service modules
+      --variants <v1,v2>            plain, warm-up, appcds and/or warm-up-appcds, default all
+      --runs <N>                    Starts of each module and variant, default 3
+      -n, --requests <N>            Requests measured after the module is ready, default 1000
+      -c, --connections <N>         Concurrent requests, default 10
+      --port <N>                    HTTP port of the started modules, default 8080
+      --skip-build                  Use the quarkus-run.jar and app-cds.jsa already built
+      --readiness-timeout <T>       Maximum wait for a module to be ready, default 60s
+      -o, --output <dir>            Results directory, default load-generator/target/startup
+    """;
+
+  public static StartupOptions parse(String... args)
+  {
+    Path root = Path.of(".");
+    Set<String> modules = null;
+    List<StartupVariant> variants = List.of(StartupVariant.values());
+    int runs = 3;
+    int requests = 1000;
+    int connections = 10;
+    int port = 8080;
+    boolean build = true;
+    Duration readiness = Duration.ofSeconds(60);
+    Path output = null;
+    Iterator<String> arguments = Arrays.asList(args).iterator();
+    while (arguments.hasNext())
+    {
+      String argument = arguments.next();
+      switch (argument)
+      {
+        case "--root" -> root = Path.of(value(argument, arguments));
+        case "--modules" -> modules = Set.of(value(argument, arguments).split(","));
+        case "--variants" -> variants = Arrays.stream(value(argument, arguments).split(","))
+          .map(StartupVariant::fromString).toList();
+        case "--runs" -> runs = Integer.parseInt(value(argument, arguments));
+        case "-n", "--requests" -> requests = Integer.parseInt(value(argument, arguments));
+        case "-c", "--connections" -> connections = Integer.parseInt(value(argument, arguments));
+        case "--port" -> port = Integer.parseInt(value(argument, arguments));
+        case "--skip-build" -> build = false;
+        case "--readiness-timeout" -> readiness = LoadOptions.duration(value(argument, arguments));
+        case "-o", "--output" -> output = Path.of(value(argument, arguments));
+        default -> throw new IllegalArgumentException("Unexpected argument " + argument);
+      }
+    }
+    Set<String> selectedModules = modules;
+    Set<String> seen = new HashSet<>();
+    List<Target> targets = Target.DEFAULTS.stream()
+      .filter(target -> selectedModules == null || selectedModules.contains(target.module()))
+      .filter(target -> seen.add(target.module()))
+      .toList();
+    if (targets.isEmpty())
+      throw new IllegalArgumentException("No module selected");
+    if (runs < 1 || requests < 1 || connections < 1)
+      throw new IllegalArgumentException("The runs, requests and connections must be positive");
+    return new StartupOptions(root, targets, variants, runs, requests, connections, port, build, readiness,
+      output != null ? output : root.resolve("load-generator/target/startup"));
+  }
+
+  private static String value(String option, Iterator<String> arguments)
+  {
+    if (!arguments.hasNext())
+      throw new IllegalArgumentException("Missing value for " + option);
+    return arguments.next();
+  }
+}
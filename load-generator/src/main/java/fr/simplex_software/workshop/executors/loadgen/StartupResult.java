@@ -0,0 +1,32 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public record StartupResult(String module, String path, String variant, int run, int requests, long errors,
+                            long non2xx, double readyMillis, double firstMillis, double p50Millis, double p90Millis,
+                            double p99Millis, double maxMillis, double totalMillis)
+{
+  public static final String CSV_HEADER = "module,path,variant,run,requests,errors,non2xx,ready_ms,first_ms," +
+    "p50_ms,p90_ms,p99_ms,max_ms,total_ms";
+
+  public String toCsv()
+  {
+    return String.join(",", module, path, variant, String.valueOf(run), String.valueOf(requests),
+      String.valueOf(errors), String.valueOf(non2xx), number(readyMillis), number(firstMillis), number(p50Millis),
+      number(p90Millis), number(p99Millis), number(maxMillis), number(totalMillis));
+  }
+
+  public String toJson()
+  {
+    return String.format(Locale.ROOT, "{\"module\":\"%s\",\"path\":\"%s\",\"variant\":\"%s\",\"run\":%d," +
+        "\"requests\":%d,\"errors\":%d,\"non2xx\":%d,\"readyMillis\":%s,\"firstMillis\":%s,\"p50Millis\":%s," +
+        "\"p90Millis\":%s,\"p99Millis\":%s,\"maxMillis\":%s,\"totalMillis\":%s}",
+      module, path, variant, run, requests, errors, non2xx, number(readyMillis), number(firstMillis),
+      number(p50Millis), number(p90Millis), number(p99Millis), number(maxMillis), number(totalMillis));
+  }
+
+  private static String number(double value)
+  {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+}
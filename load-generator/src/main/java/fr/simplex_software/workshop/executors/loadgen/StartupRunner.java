@@ -0,0 +1,203 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import org.HdrHistogram.*;
+
+import java.io.*;
+import java.net.*;
+import java.net.http.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+public class StartupRunner
+{
+  private static final System.Logger LOG = System.getLogger(StartupRunner.class.getName());
+  private static final String ARCHIVE = "target/quarkus-app/app-cds.jsa";
+  private final StartupOptions options;
+  private final List<String> zones = ZoneId.getAvailableZoneIds().stream().sorted()
+    .map(zone -> URLEncoder.encode(zone, StandardCharsets.UTF_8)).toList();
+
+  private StartupRunner(StartupOptions options)
+  {
+    this.options = options;
+  }
+
+  public static void main(String... args) throws Exception
+  {
+    StartupOptions options;
+    try
+    {
+      options = StartupOptions.parse(args);
+    }
+    catch (IllegalArgumentException e)
+    {
+      System.err.println(e.getMessage());
+      System.err.print(StartupOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    new StartupRunner(options).run();
+  }
+
+  private void run() throws Exception
+  {
+    if (options.build())
+      build();
+    Files.createDirectories(options.output());
+    List<StartupResult> results = new ArrayList<>();
+    for (Target target : options.targets())
+      for (StartupVariant variant : options.variants())
+        for (int run = 1; run <= options.runs(); run++)
+        {
+          StartupResult result = start(target, variant, run);
+          System.out.printf(Locale.ROOT, "%-24s %-15s run %d: ready in %.0f ms, first request %.2f ms, p99 %.2f ms, " +
+              "%d requests in %.0f ms%n", target.module(), variant.label(), run, result.readyMillis(),
+            result.firstMillis(), result.p99Millis(), result.requests(), result.totalMillis());
+          results.add(result);
+        }
+    printSummary(results);
+    Files.write(options.output().resolve("results.csv"), Stream.concat(Stream.of(StartupResult.CSV_HEADER),
+      results.stream().map(StartupResult::toCsv)).toList());
+    Files.writeString(options.output().resolve("results.json"),
+      results.stream().map(StartupResult::toJson).collect(Collectors.joining(",\n  ", "[\n  ", "\n]\n")));
+  }
+
+  private void build() throws IOException, InterruptedException
+  {
+    List<String> command = new ArrayList<>(List.of("mvn", "-B", "-q", "package", "-DskipTests", "-am", "-pl",
+      options.targets().stream().map(Target::module).collect(Collectors.joining(","))));
+    if (options.variants().stream().anyMatch(StartupVariant::appCds))
+      command.add("-Pappcds");
+    Process process = new ProcessBuilder(command).directory(options.root().toFile()).inheritIO().start();
+    if (process.waitFor() != 0)
+      throw new IllegalStateException("The build failed: " + String.join(" ", command));
+  }
+
+  private StartupResult start(Target target, StartupVariant variant, int run) throws Exception
+  {
+    Path module = options.root().resolve(target.module());
+    Path jar = module.resolve("target/quarkus-app/quarkus-run.jar");
+    if (!Files.exists(jar))
+      throw new IllegalStateException("Missing " + jar + ", build the module or drop --skip-build");
+    List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+    if (variant.appCds())
+    {
+      Path archive = module.resolve(ARCHIVE);
+      if (!Files.exists(archive))
+        throw new IllegalStateException("Missing " + archive + ", build the module with -Pappcds");
+      command.add("-XX:SharedArchiveFile=" + archive);
+    }
+    command.addAll(List.of("-Dquarkus.http.port=" + options.port(),
+      "-Dexecutors.warm-up.enabled=" + variant.warmUp(), "-jar", jar.toString()));
+    Path log = options.output().resolve(target.module() + "-" + variant.label() + "-" + run + ".log");
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build())
+    {
+      URI root = URI.create("http://localhost:" + options.port() + "/");
+      awaitReadiness(client, process, root.resolve("q/health/ready"));
+      double readyMillis = (System.nanoTime() - start) / 1e6;
+      return measure(client, target, variant, run, root.resolve(target.path()), readyMillis);
+    }
+    finally
+    {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS))
+        process.destroyForcibly().waitFor();
+    }
+  }
+
+  private void awaitReadiness(HttpClient client, Process process, URI uri) throws InterruptedException
+  {
+    long deadline = System.nanoTime() + options.readiness().toNanos();
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(1)).build();
+    while (System.nanoTime() - deadline < 0)
+    {
+      if (!process.isAlive())
+        throw new IllegalStateException("The module stopped with exit code " + process.exitValue());
+      try
+      {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+          return;
+      }
+      catch (IOException e)
+      {
+        LOG.log(System.Logger.Level.DEBUG, "{0} is not ready yet: {1}", uri, e);
+      }
+      Thread.sleep(10);
+    }
+    throw new IllegalStateException(uri + " was not ready after " + options.readiness());
+  }
+
+  private StartupResult measure(HttpClient client, Target target, StartupVariant variant, int run, URI endpoint,
+                                double readyMillis)
+  {
+    Histogram latency = new ConcurrentHistogram(3);
+    AtomicInteger next = new AtomicInteger();
+    AtomicLong first = new AtomicLong();
+    LongAdder errors = new LongAdder();
+    LongAdder non2xx = new LongAdder();
+    long start = System.nanoTime();
+    try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      for (int i = 0; i < options.connections(); i++)
+        connections.execute(() ->
+        {
+          for (int index = next.getAndIncrement(); index < options.requests(); index = next.getAndIncrement())
+          {
+            HttpRequest request = HttpRequest.newBuilder(index % 2 == 0 ? endpoint :
+              URI.create(endpoint + "/" + zones.get(index / 2 % zones.size()))).timeout(Duration.ofSeconds(10)).build();
+            long sent = System.nanoTime();
+            try
+            {
+              if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400)
+                non2xx.increment();
+              long elapsed = System.nanoTime() - sent;
+              latency.recordValue(elapsed);
+              if (index == 0)
+                first.set(elapsed);
+            }
+            catch (IOException e)
+            {
+              errors.increment();
+            }
+            catch (InterruptedException e)
+            {
+              Thread.currentThread().interrupt();
+              return;
+            }
+          }
+        });
+    }
+    double totalMillis = (System.nanoTime() - start) / 1e6;
+    return new StartupResult(target.module(), target.path(), variant.label(), run, options.requests(), errors.sum(),
+      non2xx.sum(), readyMillis, first.get() / 1e6, latency.getValueAtPercentile(50) / 1e6,
+      latency.getValueAtPercentile(90) / 1e6, latency.getValueAtPercentile(99) / 1e6, latency.getMaxValue() / 1e6,
+      totalMillis);
+  }
+
+  private void printSummary(List<StartupResult> results)
+  {
+    System.out.printf("%nMedians over %d run(s)%n", options.runs());
+    System.out.printf("%-24s %-15s %10s %10s %10s %10s %10s%n", "module", "variant", "ready ms", "first ms", "p50 ms",
+      "p99 ms", "total ms");
+    results.stream().collect(Collectors.groupingBy(result -> result.module() + "|" + result.variant(),
+        LinkedHashMap::new, Collectors.toList()))
+      .forEach((key, runs) -> System.out.printf(Locale.ROOT, "%-24s %-15s %10.0f %10.2f %10.2f %10.2f %10.0f%n",
+        runs.getFirst().module(), runs.getFirst().variant(), median(runs, StartupResult::readyMillis),
+        median(runs, StartupResult::firstMillis), median(runs, StartupResult::p50Millis),
+        median(runs, StartupResult::p99Millis), median(runs, StartupResult::totalMillis)));
+  }
+
+  private static double median(List<StartupResult> runs, ToDoubleFunction<StartupResult> value)
+  {
+    double[] values = runs.stream().mapToDouble(value).sorted().toArray();
+    return values.length % 2 == 1 ? values[values.length / 2] :
+      (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+  }
+}
@@ -0,0 +1,37 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public enum StartupVariant
+{
+  PLAIN(false, false), WARM_UP(true, false), APPCDS(false, true), WARM_UP_APPCDS(true, true);
+
+  private final boolean warmUp;
+  private final boolean appCds;
+
+  StartupVariant(boolean warmUp, boolean appCds)
+  {
+    this.warmUp = warmUp;
+    this.appCds = appCds;
+  }
+
+  public boolean warmUp()
+  {
+    return warmUp;
+  }
+
+  public boolean appCds()
+  {
+    return appCds;
+  }
+
+  public String label()
+  {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  public static StartupVariant fromString(String value)
+  {
+    return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+}
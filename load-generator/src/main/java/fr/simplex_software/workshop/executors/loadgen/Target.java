@@ -0,0 +1,25 @@
+package fr.simplex_software.workshop.executors.loadgen;
+
+import java.util.*;
+
+public record Target(String module, String path)
+{
+  public static final List<Target> DEFAULTS = List.of(
+    new Target("none-sync", "time"),
+    new Target("none-async", "time-async"),
+    new Target("none-explicit", "time-ex"),
+    new Target("none-future", "time-f"),
+    new Target("di", "time-async-di"),
+    new Target("fork-join", "time-steal"),
+    new Target("thread-per-task", "time-async-tpt"),
+    new Target("thread-pool-executor", "time-async-direct"),
+    new Target("thread-per-task-virtual", "time-async-tptv"),
+    new Target("thread-per-task-virtual", "time-vt"),
+    new Target("scheduled", "time-scheduled"),
+    new Target("single-mutiny", "time-react"));
+
+  public static String moduleOf(String path)
+  {
+    return DEFAULTS.stream().filter(target -> target.path().equals(path)).map(Target::module).findFirst().orElse("");
+  }
+}
@@ -0,0 +1,51 @@
+package fr.simplex_software.workshop.executors.loadgen.tests;
+
+import fr.simplex_software.workshop.executors.loadgen.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestBaseline
+{
+  @Test
+  public void testParseBenchTxt() throws Exception
+  {
+    List<MatrixResult> baseline = Baseline.read(Path.of("../bench.txt"));
+    assertThat(baseline).hasSize(11);
+    MatrixResult time = baseline.getFirst();
+    assertThat(time.module()).isEqualTo("none-sync");
+    assertThat(time.path()).isEqualTo("time");
+    assertThat(time.connections()).isEqualTo(50);
+    assertThat(time.durationSeconds()).isEqualTo(40);
+    assertThat(time.requests()).isEqualTo(5504161);
+    assertThat(time.requestsPerSecond()).isEqualTo(137260.64);
+    assertThat(time.avgMillis()).isCloseTo(0.66338, within(1e-9));
+    assertThat(time.maxMillis()).isEqualTo(159.23);
+    assertThat(time.p99Millis()).isNaN();
+  }
+
+  @Test
+  public void testCsvRoundTrip() throws Exception
+  {
+    List<MatrixResult> baseline = Baseline.read(Path.of("../bench.txt"));
+    assertThat(baseline.stream().map(MatrixResult::toCsv).map(MatrixResult::fromCsv).map(MatrixResult::toCsv))
+      .containsExactlyElementsOf(baseline.stream().map(MatrixResult::toCsv).toList());
+  }
+
+  @Test
+  public void testRegressions()
+  {
+    MatrixResult reference = new MatrixResult("none-sync", "time", 50, 0, 40, 1000, 0, 0, 1000, 1, 1, 2, 5, 8, 10);
+    MatrixResult slower = new MatrixResult("none-sync", "time", 50, 0, 40, 800, 0, 0, 800, 1, 1, 2, 5, 8, 10);
+    MatrixResult tail = new MatrixResult("none-sync", "time", 50, 0, 40, 1000, 0, 0, 1000, 1, 1, 2, 7, 8, 10);
+    MatrixResult other = new MatrixResult("none-sync", "time", 200, 0, 40, 10, 0, 0, 10, 1, 1, 2, 50, 80, 100);
+    assertThat(Baseline.regressions(List.of(reference, other), List.of(reference), 0.1, 0.2)).isEmpty();
+    assertThat(Baseline.regressions(List.of(slower), List.of(reference), 0.1, 0.2)).singleElement()
+      .asString().contains("throughput");
+    assertThat(Baseline.regressions(List.of(tail), List.of(reference), 0.1, 0.2)).singleElement()
+      .asString().contains("p99");
+  }
+}
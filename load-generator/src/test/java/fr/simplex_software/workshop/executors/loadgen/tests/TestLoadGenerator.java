@@ -0,0 +1,101 @@
+package fr.simplex_software.workshop.executors.loadgen.tests;
+
+import com.sun.net.httpserver.*;
+import fr.simplex_software.workshop.executors.loadgen.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestLoadGenerator
+{
+  private static HttpServer server;
+  private static URI uri;
+
+  @BeforeAll
+  public static void startServer() throws IOException
+  {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/time", exchange ->
+    {
+      try
+      {
+        Thread.sleep(2);
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+      byte[] body = "OK".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody())
+      {
+        out.write(body);
+      }
+    });
+    server.start();
+    uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/time");
+  }
+
+  @AfterAll
+  public static void stopServer()
+  {
+    server.stop(0);
+  }
+
+  @Test
+  public void testClosedLoop() throws Exception
+  {
+    LoadResult result = LoadGenerator.run(new LoadOptions(uri, LoadMode.CLOSED, 4, 0, Duration.ofSeconds(1)));
+    assertThat(result.requests()).isPositive();
+    assertThat(result.errors()).isZero();
+    assertThat(result.bytes()).isEqualTo(2 * result.requests());
+    assertThat(result.serviceTime().getTotalCount()).isEqualTo(result.requests());
+    assertThat(result.isCorrected()).isFalse();
+    assertThat(result.responseTime().getTotalCount()).isEqualTo(result.requests());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    result.printSummary(new PrintStream(out, true, StandardCharsets.UTF_8));
+    assertThat(out.toString(StandardCharsets.UTF_8))
+      .contains("Running 1s test @ " + uri)
+      .contains("latencies not corrected for coordinated omission")
+      .contains("    Latency   ")
+      .contains("Requests/sec: ");
+  }
+
+  @Test
+  public void testClosedLoopCorrectedFromTheRate() throws Exception
+  {
+    LoadResult result = LoadGenerator.run(LoadOptions.parse("-m", "closed", "-R", "100", "-c", "4", "-d", "1s",
+      uri.toString()));
+    assertThat(result.options().mode()).isEqualTo(LoadMode.CLOSED);
+    assertThat(result.isCorrected()).isTrue();
+    assertThat(result.responseTime().getTotalCount()).isGreaterThanOrEqualTo(result.requests());
+  }
+
+  @Test
+  public void testOpenLoop() throws Exception
+  {
+    LoadResult result = LoadGenerator.run(LoadOptions.parse("-R", "200", "-d", "1s", "-c", "16", uri.toString()));
+    assertThat(result.options().mode()).isEqualTo(LoadMode.OPEN);
+    assertThat(result.requests() + result.errors()).isEqualTo(200);
+    assertThat(result.responseTime().getTotalCount()).isEqualTo(result.requests());
+    assertThat(result.percentileMillis(50)).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  public void testOptions()
+  {
+    LoadOptions options = LoadOptions.parse("-c", "8", "-d", "500ms", "-w", "2m", uri.toString());
+    assertThat(options.mode()).isEqualTo(LoadMode.CLOSED);
+    assertThat(options.duration()).isEqualTo(Duration.ofMillis(500));
+    assertThat(options.warmup()).isEqualTo(Duration.ofMinutes(2));
+    assertThatThrownBy(() -> LoadOptions.parse("-m", "open", uri.toString()))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
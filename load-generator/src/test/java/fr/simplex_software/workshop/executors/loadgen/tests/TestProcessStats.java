@@ -0,0 +1,92 @@
+package fr.simplex_software.workshop.executors.loadgen.tests;
+
+import fr.simplex_software.workshop.executors.loadgen.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestProcessStats
+{
+  private static final String STATUS = """
+    Name:\tjava
+    State:\tS (sleeping)
+    Tgid:\t2884
+    Pid:\t2884
+    VmPeak:\t 3013584 kB
+    VmHWM:\t   82176 kB
+    VmRSS:\t   82176 kB
+    RssAnon:\t   61320 kB
+    Threads:\t14
+    """;
+  private static final String G1_HEAP_INFO = """
+    3003:
+     garbage-first heap   total 98304K, used 8975K [0x00000000a2200000, 0x0000000100000000)
+      region size 1024K, 6 young (6144K), 1 survivors (1024K)
+     Metaspace       used 9303K, committed 9600K, reserved 1114112K
+      class space    used 1073K, committed 1216K, reserved 1048576K
+    """;
+  private static final String PARALLEL_HEAP_INFO = """
+    2885:
+     PSYoungGen      total 28160K, used 16560K [0x00000000e0b80000, 0x00000000e2a80000, 0x0000000100000000)
+      eden space 24576K, 67% used [0x00000000e0b80000,0x00000000e1bac1d0,0x00000000e2380000)
+      from space 3584K, 0% used [0x00000000e2700000,0x00000000e2700000,0x00000000e2a80000)
+      to   space 3584K, 0% used [0x00000000e2380000,0x00000000e2380000,0x00000000e2700000)
+     ParOldGen       total 64512K, used 1053K [0x00000000a2200000, 0x00000000a6100000, 0x00000000e0b80000)
+      object space 64512K, 1% used [0x00000000a2200000,0x00000000a23076b8,0x00000000a6100000)
+     Metaspace       used 9288K, committed 9536K, reserved 1114112K
+      class space    used 1073K, committed 1216K, reserved 1048576K
+    """;
+  private static final String NATIVE_MEMORY = """
+    2884:
+
+    Native Memory Tracking:
+
+    (Omitting categories weighting less than 1KB)
+
+    Total: reserved=2942041KB, committed=134941KB
+           malloc: 7441KB #44665
+           mmap:   reserved=2934600KB, committed=127500KB
+
+    -                 Java Heap (reserved=1538048KB, committed=96256KB)
+                                (mmap: reserved=1538048KB, committed=96256KB)
+
+    -                    Thread (reserved=13352KB, committed=812KB)
+                                (thread #13)
+                                (stack: reserved=13312KB, committed=772KB)
+                                (malloc=27KB #82)
+                                (arena=13KB #24)
+
+    -                      Code (reserved=247931KB, committed=7791KB)
+                                (malloc=243KB #2240)
+                                (mmap: reserved=247688KB, committed=7548KB)
+    """;
+
+  @Test
+  public void testParsesProcStatus()
+  {
+    assertThat(ProcessStats.parseStatus(STATUS.lines().toList())).contains(new ProcessStats(82176, 14));
+  }
+
+  @Test
+  public void testIncompleteProcStatusIsEmpty()
+  {
+    assertThat(ProcessStats.parseStatus(List.of("Name:\tjava", "Threads:\t14"))).isEmpty();
+  }
+
+  @Test
+  public void testHeapUsedSumsTheHeapSpacesAndIgnoresMetaspace()
+  {
+    assertThat(ProcessStats.parseHeapUsedKb(G1_HEAP_INFO)).isEqualTo(8975);
+    assertThat(ProcessStats.parseHeapUsedKb(PARALLEL_HEAP_INFO)).isEqualTo(16560 + 1053);
+    assertThat(ProcessStats.parseHeapUsedKb("")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testStackCommittedComesFromTheThreadCategory()
+  {
+    assertThat(ProcessStats.parseStackCommittedKb(NATIVE_MEMORY)).isEqualTo(772);
+    assertThat(ProcessStats.parseStackCommittedKb("2884:\nNative memory tracking is not enabled\n")).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,59 @@
+package fr.simplex_software.workshop.executors.loadgen.tests;
+
+import fr.simplex_software.workshop.executors.loadgen.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestScalingOptions
+{
+  @Test
+  public void testDefaults()
+  {
+    ScalingOptions options = ScalingOptions.parse();
+    assertThat(options.targets()).extracting(Target::path).containsExactlyElementsOf(ScalingOptions.DEFAULT_PATHS);
+    assertThat(options.concurrencies()).containsExactly(1_000, 10_000, 50_000);
+    assertThat(options.delay()).isEqualTo(10);
+    assertThat(options.ramp()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(options.timeout()).isEqualTo(Duration.ofSeconds(60));
+    assertThat(options.sampleInterval()).isEqualTo(Duration.ofMillis(500));
+    assertThat(options.jvmArgs()).isEmpty();
+    assertThat(options.port()).isEqualTo(8080);
+    assertThat(options.build()).isTrue();
+    assertThat(options.output()).isEqualTo(Path.of(".").resolve("load-generator/target/scaling"));
+  }
+
+  @Test
+  public void testParsesEveryOption()
+  {
+    ScalingOptions options = ScalingOptions.parse("--root", "/work", "--paths", "time-vt, time-ex", "-c", "10,20",
+      "--delay", "0", "--ramp", "250ms", "-t", "2m", "--sample-interval", "1s", "--jvm-args", "-Xmx2g,-Xss256k",
+      "--port", "9090", "--skip-build", "--readiness-timeout", "90s");
+    assertThat(options.root()).isEqualTo(Path.of("/work"));
+    assertThat(options.targets()).containsExactly(new Target("thread-per-task-virtual", "time-vt"),
+      Target.DEFAULTS.stream().filter(target -> target.path().equals("time-ex")).findFirst().orElseThrow());
+    assertThat(options.concurrencies()).containsExactly(10, 20);
+    assertThat(options.delay()).isZero();
+    assertThat(options.ramp()).isEqualTo(Duration.ofMillis(250));
+    assertThat(options.timeout()).isEqualTo(Duration.ofMinutes(2));
+    assertThat(options.sampleInterval()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(options.jvmArgs()).containsExactly("-Xmx2g", "-Xss256k");
+    assertThat(options.port()).isEqualTo(9090);
+    assertThat(options.build()).isFalse();
+    assertThat(options.readiness()).isEqualTo(Duration.ofSeconds(90));
+    assertThat(options.output()).isEqualTo(Path.of("/work/load-generator/target/scaling"));
+    assertThat(ScalingOptions.parse("-o", "out").output()).isEqualTo(Path.of("out"));
+  }
+
+  @Test
+  public void testRejectsInvalidArguments()
+  {
+    for (List<String> args : List.of(List.of("--paths", "time-unknown"), List.of("--paths", ","),
+      List.of("-c", "0"), List.of("--delay", "-1"), List.of("--port"), List.of("--unknown")))
+      assertThatIllegalArgumentException().isThrownBy(() -> ScalingOptions.parse(args.toArray(String[]::new)));
+  }
+}
@@ -1,38 +1,42 @@
 package fr.simplex_software.workshop.executors.async.none;
 
+import fr.simplex_software.workshop.executors.base.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
 import org.slf4j.*;
 
-import java.net.*;
-import java.nio.charset.*;
-import java.time.*;
-import java.time.format.*;
+import java.util.function.*;
 
 @Path("time-async")
 @Produces(MediaType.TEXT_PLAIN)
 public class TimeResource
 {
-  private static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
   private static final Logger LOG = LoggerFactory.getLogger(TimeResource.class);
 
   @GET
-  public void getCurrentDateAndTimeAtDefaultZone(@QueryParam("delay") @DefaultValue("0") int delay, @Suspended AsyncResponse ar) throws InterruptedException
+  public void getCurrentDateAndTimeAtDefaultZone(@QueryParam("delay") @DefaultValue("0") int delay, @QueryParam("timeout") String timeout, @HeaderParam(Deadline.HEADER) String timeoutHeader, @Suspended AsyncResponse ar) throws InterruptedException
   {
-    Thread.sleep(delay * 1000L);
-    ar.resume(ZonedDateTime.now().format(DateTimeFormatter.ofPattern(FMT)
-      .withZone(ZoneId.systemDefault())));
+    resume(ar, Deadline.of("time-async", timeout, timeoutHeader), delay, ZoneCache.systemDefault()::now);
     LOG.debug("*** TimeResource.getCurrentDateAndTimeAtDefaultZone() ***");
   }
 
   @GET
   @Path("{zoneId}")
-  public void getCurrentDateAndTimeAtZone(@PathParam("zoneId") String zoneId, @QueryParam("delay") @DefaultValue("0") int delay, @Suspended AsyncResponse ar) throws InterruptedException
+  public void getCurrentDateAndTimeAtZone(@PathParam("zoneId") String zoneId, @QueryParam("delay") @DefaultValue("0") int delay, @QueryParam("timeout") String timeout, @HeaderParam(Deadline.HEADER) String timeoutHeader, @Suspended AsyncResponse ar) throws InterruptedException
   {
-    Thread.sleep(delay * 1000L);
-    String decodedZoneId = URLDecoder.decode(zoneId, StandardCharsets.UTF_8);
-    ar.resume(ZonedDateTime.now(ZoneId.of(decodedZoneId)).format(DateTimeFormatter
-      .ofPattern(FMT).withZone(ZoneId.of(decodedZoneId))));
+    resume(ar, Deadline.of("time-async", timeout, timeoutHeader), delay, () -> ZoneCache.of(zoneId).now());
+  }
+
+  private static void resume(AsyncResponse ar, Deadline deadline, int delay, Supplier<String> time) throws InterruptedException
+  {
+    try
+    {
+      ar.resume(deadline.watch(ar, delay * 1000L).call(delay * 1000L, time));
+    }
+    catch (ServiceUnavailableException e)
+    {
+      ar.resume(e);
+    }
   }
 }
@@ -1,40 +1,40 @@
 package fr.simplex_software.workshop.executors.async.explicit;
 
+import fr.simplex_software.workshop.executors.base.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
 import org.slf4j.*;
 
-import java.net.*;
-import java.nio.charset.*;
-import java.time.*;
-import java.time.format.*;
-
 @Path("time-ex")
 @Produces(MediaType.TEXT_PLAIN)
 public class TimeResource
 {
-  private static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
   private static final Logger LOG = LoggerFactory.getLogger(TimeResource.class);
   private static final String MSG = "*** TimeResource.getCurrentDateAndTimeAtDefaultZone() ***";
 
   @GET
   public void getCurrentDateAndTimeAtDefaultZone(@QueryParam("delay") @DefaultValue("0") int delay,
+                                                 @QueryParam("timeout") String timeout,
+                                                 @HeaderParam(Deadline.HEADER) String timeoutHeader,
                                                  @Suspended AsyncResponse ar)
   {
     LOG.debug(MSG);
+    Deadline deadline = Deadline.of("time-ex", timeout, timeoutHeader).watch(ar, delay * 1000L);
     new Thread(() ->
     {
       try
       {
-        Thread.sleep(delay * 1000L);
+        ar.resume(deadline.call(delay * 1000L, ZoneCache.systemDefault()::now));
       }
       catch (InterruptedException e)
       {
         throw new RuntimeException(e);
       }
-      ar.resume(ZonedDateTime.now().format(DateTimeFormatter.ofPattern(FMT)
-        .withZone(ZoneId.systemDefault())));
+      catch (ServiceUnavailableException e)
+      {
+        ar.resume(e);
+      }
       LOG.debug(MSG);
     }).start();
   }
@@ -43,22 +43,26 @@ public class TimeResource
   @Path("{zoneId}")
   public void getCurrentDateAndTimeAtZone(@PathParam("zoneId") String zoneId,
                                           @QueryParam("delay") @DefaultValue("0") int delay,
+                                          @QueryParam("timeout") String timeout,
+                                          @HeaderParam(Deadline.HEADER) String timeoutHeader,
                                           @Suspended AsyncResponse ar)
   {
     LOG.debug(MSG);
+    Deadline deadline = Deadline.of("time-ex", timeout, timeoutHeader).watch(ar, delay * 1000L);
     new Thread(() ->
     {
       try
       {
-        Thread.sleep(delay * 1000L);
+        ar.resume(deadline.call(delay * 1000L, () -> ZoneCache.of(zoneId).now()));
       }
       catch (InterruptedException e)
       {
         throw new RuntimeException(e);
       }
-      String decodedZoneId = URLDecoder.decode(zoneId, StandardCharsets.UTF_8);
-      ar.resume(ZonedDateTime.now(ZoneId.of(decodedZoneId)).format(DateTimeFormatter.ofPattern(FMT)
-        .withZone(ZoneId.systemDefault())));
+      catch (ServiceUnavailableException e)
+      {
+        ar.resume(e);
+      }
       LOG.debug(MSG);
     }).start();
   }
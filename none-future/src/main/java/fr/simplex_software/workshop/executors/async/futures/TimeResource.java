@@ -1,36 +1,33 @@
 package fr.simplex_software.workshop.executors.async.futures;
 
+import fr.simplex_software.workshop.executors.base.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
 import org.slf4j.*;
 
-import java.net.*;
-import java.nio.charset.*;
-import java.time.*;
-import java.time.format.*;
 import java.util.concurrent.*;
 
 @Path("time-f")
 @Produces(MediaType.TEXT_PLAIN)
 public class TimeResource
 {
-  private static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
   private static final Logger LOG = LoggerFactory.getLogger(TimeResource.class);
   private static final String MSG = "*** TimeResource.getCurrentDateAndTimeAtDefaultZone() ***";
 
   @GET
   public void getCurrentDateAndTimeAtDefaultZone(@QueryParam("delay") @DefaultValue("0") int delay,
+                                                 @QueryParam("timeout") String timeout,
+                                                 @HeaderParam(Deadline.HEADER) String timeoutHeader,
                                                  @Suspended AsyncResponse ar)
   {
     LOG.debug(MSG);
+    Deadline deadline = Deadline.of("time-f", timeout, timeoutHeader).watch(ar, delay * 1000L);
     CompletableFuture.supplyAsync(() ->
       {
         try
         {
-          Thread.sleep(delay * 1000L);
-          return ZonedDateTime.now().format(DateTimeFormatter.ofPattern(FMT)
-            .withZone(ZoneId.systemDefault()));
+          return deadline.call(delay * 1000L, ZoneCache.systemDefault()::now);
         }
         catch (Exception e)
         {
@@ -54,17 +51,17 @@ public class TimeResource
   @Path("{zoneId}")
   public void getCurrentDateAndTimeAtZone(@PathParam("zoneId") String zoneId,
                                           @QueryParam("delay") @DefaultValue("0") int delay,
+                                          @QueryParam("timeout") String timeout,
+                                          @HeaderParam(Deadline.HEADER) String timeoutHeader,
                                           @Suspended AsyncResponse ar)
   {
     LOG.debug(MSG);
+    Deadline deadline = Deadline.of("time-f", timeout, timeoutHeader).watch(ar, delay * 1000L);
     CompletableFuture.supplyAsync(() ->
       {
         try
         {
-          Thread.sleep(delay * 1000L);
-          String decodedZoneId = URLDecoder.decode(zoneId, StandardCharsets.UTF_8);
-          return ZonedDateTime.now().format(DateTimeFormatter.ofPattern(FMT)
-            .withZone(ZoneId.of(decodedZoneId)));
+          return deadline.call(delay * 1000L, () -> ZoneCache.of(zoneId).now());
         }
         catch (Exception e)
         {
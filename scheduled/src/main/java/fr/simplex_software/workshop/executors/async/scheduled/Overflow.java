@@ -0,0 +1,27 @@
+package fr.simplex_software.workshop.executors.async.scheduled;
+
+import io.smallrye.mutiny.subscription.*;
+
+import java.util.*;
+
+public enum Overflow
+{
+  LATEST(BackPressureStrategy.LATEST), DROP(BackPressureStrategy.DROP);
+
+  private final BackPressureStrategy strategy;
+
+  Overflow(BackPressureStrategy strategy)
+  {
+    this.strategy = strategy;
+  }
+
+  public BackPressureStrategy strategy()
+  {
+    return strategy;
+  }
+
+  public static Overflow fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
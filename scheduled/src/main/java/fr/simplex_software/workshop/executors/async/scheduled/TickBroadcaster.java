@@ -0,0 +1,62 @@
+package fr.simplex_software.workshop.executors.async.scheduled;
+
+import io.smallrye.mutiny.*;
+import io.smallrye.mutiny.subscription.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+public class TickBroadcaster
+{
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final int period;
+  private final Supplier<String> time;
+  private final Set<MultiEmitter<? super String>> subscribers = ConcurrentHashMap.newKeySet();
+  private ScheduledFuture<?> ticker;
+
+  public TickBroadcaster(ScheduledExecutorService scheduler, Executor executor, int period, Supplier<String> time)
+  {
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.period = period;
+    this.time = time;
+  }
+
+  public Multi<String> subscribe(Overflow overflow)
+  {
+    return Multi.createFrom().emitter(emitter ->
+    {
+      synchronized (this)
+      {
+        subscribers.add(emitter);
+        if (ticker == null)
+          ticker = scheduler.scheduleAtFixedRate(() -> executor.execute(this::tick), 0, period, TimeUnit.SECONDS);
+      }
+      emitter.onTermination(() -> unsubscribe(emitter));
+    }, overflow.strategy());
+  }
+
+  public int subscriberCount()
+  {
+    return subscribers.size();
+  }
+
+  private synchronized void unsubscribe(MultiEmitter<? super String> emitter)
+  {
+    subscribers.remove(emitter);
+    if (subscribers.isEmpty() && ticker != null)
+    {
+      ticker.cancel(false);
+      ticker = null;
+    }
+  }
+
+  private void tick()
+  {
+    String now = time.get();
+    for (MultiEmitter<? super String> subscriber : subscribers)
+      subscriber.emit(now);
+  }
+}
@@ -1,88 +1,179 @@
 package fr.simplex_software.workshop.executors.async.scheduled;
 
 import fr.simplex_software.workshop.executors.base.*;
+import io.smallrye.mutiny.*;
+import jakarta.annotation.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
+import jakarta.ws.rs.core.*;
+import org.eclipse.microprofile.config.inject.*;
+import org.jboss.resteasy.reactive.*;
 
+import java.time.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
 @Path("time-scheduled")
 public class TimeResource extends BaseTimeResource
 {
+  private final ConcurrentMap<Integer, TickBroadcaster> broadcasters = new ConcurrentHashMap<>();
+  @ConfigProperty(name = "executors.scheduled.mode", defaultValue = "jdk")
+  private SchedulerMode mode;
+  @ConfigProperty(name = "executors.scheduled.pool-size", defaultValue = "2")
+  private int poolSize;
+  @ConfigProperty(name = "executors.wheel.tick", defaultValue = "10ms")
+  private Duration tick;
+  @ConfigProperty(name = "executors.wheel.size", defaultValue = "512")
+  private int wheelSize;
+  @ConfigProperty(name = "executors.wheel.shards", defaultValue = "2")
+  private int shards;
+  @ConfigProperty(name = "executors.wheel.batch-size", defaultValue = "64")
+  private int batchSize;
+  @ConfigProperty(name = "executors.wheel.shutdown-timeout", defaultValue = "30s")
+  private Duration shutdownTimeout;
+  private ExecutorService workers;
+
   @Override
   protected ExecutorService getExecutor()
   {
-    return Executors.newScheduledThreadPool(2);
+    if (mode == SchedulerMode.JDK)
+      return Executors.newScheduledThreadPool(poolSize);
+    workers = Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name("wheel-worker-", 0).factory());
+    return new HashedWheelScheduler(tick, wheelSize, shards, workers, batchSize,
+      Thread.ofPlatform().name("wheel-ticker-", 0).factory());
+  }
+
+  @PreDestroy
+  void shutdownWorkers()
+  {
+    if (workers == null)
+      return;
+    executor.shutdown();
+    try
+    {
+      if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS))
+        LOG.warn("The timing wheel did not drain within {}, its pending timers are cancelled", shutdownTimeout);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      workers.shutdown();
+    }
   }
 
   @GET
   @Path("/delayed")
   public void getDelayedTime(@QueryParam("delay") @DefaultValue("5") int delay,
+                             @QueryParam("timeout") String timeout,
+                             @HeaderParam(Deadline.HEADER) String timeoutHeader,
                              @Suspended AsyncResponse asyncResponse)
   {
-    ScheduledExecutorService scheduler = (ScheduledExecutorService) executor;
-    scheduler.schedule(() ->
-    {
-      LOG.debug(MSG, scheduler.getClass().getName());
-      try
-      {
-        asyncResponse.resume(getCurrentDateAndTimeAtDefaultZone());
-      }
-      catch (Exception e)
-      {
-        asyncResponse.resume(e);
-      }
-    }, delay, TimeUnit.SECONDS);
+    Deadline deadline = Deadline.of(strategy, timeout, timeoutHeader).watch(asyncResponse, delay * 1000L);
+    if (!deadline.admits(delay * 1000L))
+      return;
+    LOG.debug(MSG, executor.getClass().getName());
+    TimeTask task = new TimeTask(strategy, "delayed", ZoneCache.systemDefault().zoneId().getId(), null, delay,
+      this::getCurrentDateAndTimeAtDefaultZone, 0, asyncResponse, deadline);
+    ScheduledFuture<?> future =
+      scheduler().schedule(() -> execute(instrumentedExecutor, task), delay, TimeUnit.SECONDS);
+    deadline.onCancel(() -> future.cancel(false));
   }
 
   @GET
   @Path("/periodic")
   public void getPeriodicTime(@QueryParam("initialDelay") @DefaultValue("0") int initialDelay,
                               @QueryParam("period") @DefaultValue("5") int period,
+                              @QueryParam("timeout") String timeout,
+                              @HeaderParam(Deadline.HEADER) String timeoutHeader,
                               @Suspended AsyncResponse asyncResponse)
   {
-    ScheduledExecutorService scheduler = (ScheduledExecutorService) executor;
+    long sleepMillis = (initialDelay + 4L * period) * 1000L;
+    Deadline deadline = Deadline.of(strategy, timeout, timeoutHeader).watch(asyncResponse, sleepMillis);
+    if (!deadline.admits(sleepMillis))
+      return;
     final AtomicInteger counter = new AtomicInteger(0);
     final AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
-    future.set(scheduler.scheduleAtFixedRate(() ->
+    future.set(scheduler().scheduleAtFixedRate(() ->
     {
-      String time = getCurrentDateAndTimeAtDefaultZone();
-      LOG.debug("Periodic update {}: {}", counter.incrementAndGet(), time);
-      if (counter.get() >= 5)
-      {
-        asyncResponse.resume(time);
+      int update = counter.incrementAndGet();
+      if (update > 5)
+        return;
+      execute(instrumentedExecutor, update("periodic", update, period, 0, update == 5 ? asyncResponse : null,
+        deadline, () -> {}));
+      if (update == 5)
         future.get().cancel(false);
-      }
     }, initialDelay, period, TimeUnit.SECONDS));
+    deadline.onCancel(() -> future.get().cancel(false));
   }
 
   @GET
   @Path("/fixedDelay")
   public void getFixedDelayTime(@QueryParam("initialDelay") @DefaultValue("0") int initialDelay,
                                 @QueryParam("delay") @DefaultValue("5") int delay,
+                                @QueryParam("timeout") String timeout,
+                                @HeaderParam(Deadline.HEADER) String timeoutHeader,
                                 @Suspended AsyncResponse asyncResponse)
   {
-    ScheduledExecutorService scheduler = (ScheduledExecutorService) executor;
-    final AtomicInteger counter = new AtomicInteger(0);
+    long sleepMillis = (initialDelay + 9L * delay) * 1000L;
+    Deadline deadline = Deadline.of(strategy, timeout, timeoutHeader).watch(asyncResponse, sleepMillis);
+    if (!deadline.admits(sleepMillis))
+      return;
     final AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
-    future.set(scheduler.scheduleWithFixedDelay(() ->
+    scheduleFixedDelay(1, initialDelay, delay, asyncResponse, deadline, future);
+    deadline.onCancel(() -> future.get().cancel(false));
+  }
+
+  private void scheduleFixedDelay(int update, int initialDelay, int delay, AsyncResponse asyncResponse,
+                                  Deadline deadline, AtomicReference<ScheduledFuture<?>> future)
+  {
+    future.set(scheduler().schedule(() -> execute(instrumentedExecutor,
+      update("fixedDelay", update, delay, delay * 1000L, update == 5 ? asyncResponse : null, deadline, () ->
+      {
+        if (update < 5 && !deadline.isCancelled())
+          scheduleFixedDelay(update + 1, delay, delay, asyncResponse, deadline, future);
+      })), initialDelay, TimeUnit.SECONDS));
+  }
+
+  private TimeTask update(String endpoint, int update, int delay, long sleepMillis, AsyncResponse asyncResponse,
+                          Deadline deadline, Runnable next)
+  {
+    return new TimeTask(strategy, endpoint, ZoneCache.systemDefault().zoneId().getId(), null, delay, () ->
     {
       String time = getCurrentDateAndTimeAtDefaultZone();
-      LOG.debug("Fixed delay update {}: {}", counter.incrementAndGet(), time);
-      try
-      {
-        Thread.sleep(delay * 1000L);
-      }
-      catch (InterruptedException e)
-      {
-        Thread.currentThread().interrupt();
-      }
-      if (counter.get() >= 5)
-      {
-        asyncResponse.resume(time);
-        future.get().cancel(false);
-      }
-    }, initialDelay, delay, TimeUnit.SECONDS));
+      LOG.debug("{} update {}: {}", endpoint, update, time);
+      next.run();
+      return time;
+    }, sleepMillis, asyncResponse, deadline);
+  }
+
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @RestStreamElementType(MediaType.TEXT_PLAIN)
+  public Multi<String> streamTime(@QueryParam("period") @DefaultValue("1") int period,
+                                  @QueryParam("overflow") @DefaultValue("latest") Overflow overflow)
+  {
+    if (period < 1 || period > 3600)
+      throw new BadRequestException("The period must be between one second and one hour");
+    return broadcasters.computeIfAbsent(period, p -> new TickBroadcaster(scheduler(), ticks(p), p,
+      this::getCurrentDateAndTimeAtDefaultZone)).subscribe(overflow);
+  }
+
+  private Executor ticks(int period)
+  {
+    return tick -> execute(instrumentedExecutor, new TimeTask(strategy, "stream",
+      ZoneCache.systemDefault().zoneId().getId(), null, period, () ->
+    {
+      tick.run();
+      return null;
+    }, 0, null, Deadline.none(strategy)));
+  }
+
+  private ScheduledExecutorService scheduler()
+  {
+    return (ScheduledExecutorService) executor;
   }
 }
@@ -0,0 +1,106 @@
+package fr.simplex_software.workshop.executors.async.scheduled.tests;
+
+import fr.simplex_software.workshop.executors.async.scheduled.*;
+import io.smallrye.mutiny.helpers.test.*;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestTickBroadcaster
+{
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final AtomicInteger ticks = new AtomicInteger();
+  private final TickBroadcaster broadcaster =
+    new TickBroadcaster(scheduler, Runnable::run, 1, () -> "tick " + ticks.incrementAndGet());
+
+  @AfterEach
+  public void afterEach()
+  {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testSubscribersShareOneTicker()
+  {
+    AssertSubscriber<String> first = broadcaster.subscribe(Overflow.LATEST).subscribe()
+      .withSubscriber(AssertSubscriber.create(10));
+    AssertSubscriber<String> second = broadcaster.subscribe(Overflow.LATEST).subscribe()
+      .withSubscriber(AssertSubscriber.create(10));
+    scheduler.tick();
+    scheduler.tick();
+    assertThat(scheduler.scheduled).hasValue(1);
+    assertThat(ticks).hasValue(2);
+    assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+    first.assertItems("tick 1", "tick 2");
+    second.assertItems("tick 1", "tick 2");
+    first.cancel();
+    assertThat(scheduler.ticker.isCancelled()).isFalse();
+    second.cancel();
+    assertThat(broadcaster.subscriberCount()).isZero();
+    assertThat(scheduler.ticker.isCancelled()).isTrue();
+  }
+
+  @Test
+  public void testLatestKeepsOnlyTheLastTickForASlowSubscriber()
+  {
+    AssertSubscriber<String> subscriber = broadcaster.subscribe(Overflow.LATEST).subscribe()
+      .withSubscriber(AssertSubscriber.create(1));
+    scheduler.tick();
+    scheduler.tick();
+    scheduler.tick();
+    subscriber.assertItems("tick 1");
+    subscriber.request(1);
+    subscriber.assertItems("tick 1", "tick 3");
+  }
+
+  @Test
+  public void testDropSkipsTheTicksOfASlowSubscriber()
+  {
+    AssertSubscriber<String> subscriber = broadcaster.subscribe(Overflow.DROP).subscribe()
+      .withSubscriber(AssertSubscriber.create(1));
+    scheduler.tick();
+    scheduler.tick();
+    scheduler.tick();
+    subscriber.request(1);
+    subscriber.assertItems("tick 1");
+    scheduler.tick();
+    subscriber.assertItems("tick 1", "tick 4");
+  }
+
+  @Test
+  public void testCancelledSubscriberIsNotKept()
+  {
+    broadcaster.subscribe(Overflow.LATEST).subscribe().withSubscriber(new AssertSubscriber<>(1, true));
+    assertThat(broadcaster.subscriberCount()).isZero();
+    assertThat(scheduler.ticker.isCancelled()).isTrue();
+  }
+
+  private static final class ManualScheduler extends ScheduledThreadPoolExecutor
+  {
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private Runnable command;
+    private ScheduledFuture<?> ticker;
+
+    private ManualScheduler()
+    {
+      super(1);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit)
+    {
+      scheduled.incrementAndGet();
+      this.command = command;
+      ticker = schedule(() -> {}, 1, TimeUnit.DAYS);
+      return ticker;
+    }
+
+    private void tick()
+    {
+      command.run();
+    }
+  }
+}
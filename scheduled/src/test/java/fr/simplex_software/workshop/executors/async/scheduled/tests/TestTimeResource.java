@@ -63,4 +63,13 @@ public class TestTimeResource extends BaseTimeResourceTest
     assertThat(LocalDateTime.parse(response.prettyPrint(), DateTimeFormatter.ofPattern(FMT)))
       .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
   }
+
+  @Test
+  public void testScheduledEndpointsAreInstrumented()
+  {
+    assertThat(given().baseUri(timeSrvUri.toString()).queryParam("delay", 1).when().get("/delayed").statusCode())
+      .isEqualTo(HttpStatus.SC_OK);
+    assertThat(given().when().get(timeSrvUri.resolve("/q/metrics")).asString())
+      .containsPattern("executors_tasks_completed_total\\{endpoint=\"delayed\",module=\"time-scheduled\"} [1-9]");
+  }
 }
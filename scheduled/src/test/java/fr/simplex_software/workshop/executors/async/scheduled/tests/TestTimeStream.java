@@ -0,0 +1,46 @@
+package fr.simplex_software.workshop.executors.async.scheduled.tests;
+
+import fr.simplex_software.workshop.executors.async.scheduled.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.net.http.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.temporal.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+public class TestTimeStream
+{
+  private static final String FMT = "d MMM uuuu, HH:mm:ss XXX z";
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Test
+  public void testStreamTime() throws Exception
+  {
+    try (HttpClient client = HttpClient.newHttpClient())
+    {
+      HttpRequest request = HttpRequest.newBuilder(URI.create(timeSrvUrl + "/stream?period=1"))
+        .header("Accept", "text/event-stream").build();
+      HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+      assertThat(response.statusCode()).isEqualTo(HttpURLConnection.HTTP_OK);
+      List<String> events;
+      try (Stream<String> lines = response.body())
+      {
+        events = lines.filter(line -> line.startsWith("data:")).limit(2)
+          .map(line -> line.substring("data:".length()).trim()).toList();
+      }
+      assertThat(events).hasSize(2).allSatisfy(event ->
+        assertThat(LocalDateTime.parse(event, DateTimeFormatter.ofPattern(FMT)))
+          .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS)));
+    }
+  }
+}
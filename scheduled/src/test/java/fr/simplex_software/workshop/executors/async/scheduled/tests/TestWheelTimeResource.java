@@ -0,0 +1,61 @@
+package fr.simplex_software.workshop.executors.async.scheduled.tests;
+
+import fr.simplex_software.workshop.executors.async.scheduled.*;
+import fr.simplex_software.workshop.executors.base.tests.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.temporal.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(WheelSchedulerProfile.class)
+public class TestWheelTimeResource extends BaseTimeResourceTest
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Override
+  protected URL getTimeSrvURL()
+  {
+    return timeSrvUrl;
+  }
+
+  @Test
+  public void testGetDelayedTime()
+  {
+    long start = System.nanoTime();
+    Response response = given().baseUri(timeSrvUri.toString())
+      .queryParam("delay", 1).when().get("/delayed");
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+    assertThat(LocalDateTime.parse(response.prettyPrint(), DateTimeFormatter.ofPattern(FMT)))
+      .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
+  }
+
+  @Test
+  public void testGetPeriodicTime()
+  {
+    Response response = given().baseUri(timeSrvUri.toString())
+      .queryParam("period", 1).when().get("/periodic");
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(LocalDateTime.parse(response.prettyPrint(), DateTimeFormatter.ofPattern(FMT)))
+      .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
+  }
+
+  @Test
+  public void testExportsPendingTimers()
+  {
+    assertThat(given().when().get(timeSrvUri.resolve("/q/metrics")).asString())
+      .contains("executors_pool_queue_size{executor=\"HashedWheelScheduler\",module=\"time-scheduled\"}");
+  }
+}
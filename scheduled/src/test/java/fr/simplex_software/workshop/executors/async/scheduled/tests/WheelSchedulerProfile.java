@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.async.scheduled.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class WheelSchedulerProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.scheduled.mode", "wheel",
+      "executors.wheel.tick", "5ms",
+      "executors.wheel.size", "64",
+      "executors.delay.timer", "wheel");
+  }
+}
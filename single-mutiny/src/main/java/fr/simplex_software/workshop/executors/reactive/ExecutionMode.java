@@ -0,0 +1,13 @@
+package fr.simplex_software.workshop.executors.reactive;
+
+import java.util.*;
+
+public enum ExecutionMode
+{
+  EVENT_LOOP, WORKER, VIRTUAL, SINGLE;
+
+  public static ExecutionMode fromString(String value)
+  {
+    return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+}
@@ -1,57 +1,136 @@
 package fr.simplex_software.workshop.executors.reactive;
 
+import fr.simplex_software.workshop.executors.base.*;
 import io.smallrye.mutiny.*;
+import io.vertx.core.*;
 import jakarta.annotation.*;
+import jakarta.inject.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.eclipse.microprofile.config.inject.*;
 
-import java.net.*;
-import java.nio.charset.*;
 import java.time.*;
-import java.time.format.*;
 import java.util.concurrent.*;
+import java.util.function.*;
 
 @Path("time-react")
 @Produces(MediaType.TEXT_PLAIN)
 public class TimeResource
 {
-  private static final String TIME_FORMAT = "d MMM uuuu, HH:mm:ss XXX z";
   private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final ExecutorService virtualExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private ExecutorService workerExecutor;
+  @Inject
+  private Vertx vertx;
+  @ConfigProperty(name = "executors.reactive.default-zone.mode", defaultValue = "event-loop")
+  private ExecutionMode defaultZoneMode;
+  @ConfigProperty(name = "executors.reactive.zone.mode", defaultValue = "event-loop")
+  private ExecutionMode zoneMode;
+  @ConfigProperty(name = "executors.reactive.worker.size", defaultValue = "0")
+  private int workerSize;
+
+  @PostConstruct
+  void postConstruct()
+  {
+    workerExecutor = Executors.newFixedThreadPool(workerSize > 0 ? workerSize : Runtime.getRuntime().availableProcessors());
+  }
 
   @GET
-  public Uni<String> getCurrentTime(@QueryParam("delay") @DefaultValue("0") int delay)
+  public Uni<String> getCurrentTime(@QueryParam("delay") @DefaultValue("0") int delay,
+                                    @QueryParam("mode") ExecutionMode mode,
+                                    @QueryParam("timeout") String timeout,
+                                    @HeaderParam(Deadline.HEADER) String timeoutHeader)
   {
-    return Uni.createFrom()
-      .item(ZonedDateTime::now)
-      .emitOn(executor)
-      .onItem()
-      .transformToUni(time -> delay > 0 ?
-        Uni.createFrom().item(time).onItem().delayIt().by(Duration.ofSeconds(delay)) :
-        Uni.createFrom().item(time))
-      .map(time -> time.format(DateTimeFormatter.ofPattern(TIME_FORMAT)));
+    Deadline deadline = Deadline.of("time-react", timeout, timeoutHeader);
+    return withDeadline(getTime(ZoneCache::systemDefault, delay, mode != null ? mode : defaultZoneMode, deadline),
+      deadline);
   }
 
   @GET
   @Path("/{zoneId}")
-  public Uni<String> getTimeForZone(@PathParam("zoneId") String zoneId, @QueryParam("delay") @DefaultValue("0") int delay)
+  public Uni<String> getTimeForZone(@PathParam("zoneId") String zoneId, @QueryParam("delay") @DefaultValue("0") int delay,
+                                    @QueryParam("mode") ExecutionMode mode,
+                                    @QueryParam("timeout") String timeout,
+                                    @HeaderParam(Deadline.HEADER) String timeoutHeader)
   {
-    return Uni.createFrom()
-      .item(() -> ZonedDateTime.now(ZoneId.of(URLDecoder.decode(zoneId, StandardCharsets.UTF_8))))
-      .emitOn(executor)
-      .onItem()
-      .transformToUni(time -> delay > 0 ?
-        Uni.createFrom().item(time).onItem().delayIt().by(Duration.ofSeconds(delay)) :
-        Uni.createFrom().item(time))
-      .map(time -> time.format(DateTimeFormatter.ofPattern(TIME_FORMAT)))
-      .onFailure()
+    Deadline deadline = Deadline.of("time-react", timeout, timeoutHeader);
+    return withDeadline(getTime(() -> ZoneCache.of(zoneId), delay, mode != null ? mode : zoneMode, deadline)
+      .onFailure(throwable -> !deadline.isCancelled())
       .recoverWithItem(throwable ->
-        ZonedDateTime.now().format(DateTimeFormatter.ofPattern(TIME_FORMAT)) +
-          " (Error: " + throwable.getMessage() + ")");
+        ZoneCache.systemDefault().now() +
+          " (Error: " + throwable.getMessage() + ")"), deadline);
+  }
+
+  private static Uni<String> withDeadline(Uni<String> time, Deadline deadline)
+  {
+    Uni<String> bounded = deadline.timeoutMillis() > 0 ? time.ifNoItem()
+      .after(Duration.ofMillis(deadline.timeoutMillis()))
+      .failWith(() ->
+      {
+        deadline.cancel("deadline");
+        return new ServiceUnavailableException();
+      }) : time;
+    return bounded.onCancellation().invoke(() -> deadline.cancel("disconnect"));
+  }
+
+  private Uni<String> getTime(Supplier<ZoneCache.Zone> zone, int delay, ExecutionMode mode, Deadline deadline)
+  {
+    if (!deadline.admits(delay * 1000L))
+      return Uni.createFrom().failure(new ServiceUnavailableException());
+    return switch (mode)
+    {
+      case EVENT_LOOP -> Uni.createFrom()
+        .item(zone)
+        .onItem()
+        .transformToUni(item -> delay > 0 ? onTimer(item, delay) : Uni.createFrom().item(item))
+        .map(ZoneCache.Zone::now);
+      case WORKER -> emitBlockingOn(workerExecutor, zone, delay, deadline);
+      case VIRTUAL -> emitBlockingOn(virtualExecutor, zone, delay, deadline);
+      case SINGLE -> Uni.createFrom()
+        .item(zone)
+        .emitOn(executor)
+        .onItem()
+        .transformToUni(item -> delay > 0 ?
+          Uni.createFrom().item(item).onItem().delayIt().by(Duration.ofSeconds(delay)) :
+          Uni.createFrom().item(item))
+        .map(ZoneCache.Zone::now);
+    };
+  }
+
+  private <T> Uni<T> onTimer(T item, int delay)
+  {
+    return Uni.createFrom().emitter(emitter ->
+    {
+      long timer = vertx.setTimer(delay * 1000L, id -> emitter.complete(item));
+      emitter.onTermination(() -> vertx.cancelTimer(timer));
+    });
+  }
+
+  private static Uni<String> emitBlockingOn(Executor blockingExecutor, Supplier<ZoneCache.Zone> zone, int delay,
+                                            Deadline deadline)
+  {
+    return Uni.createFrom()
+      .item(zone)
+      .emitOn(blockingExecutor)
+      .map(item ->
+      {
+        try
+        {
+          return deadline.call(delay * 1000L, item::now);
+        }
+        catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+          throw new CompletionException(e);
+        }
+      });
   }
 
   @PreDestroy
   void cleanup()
   {
     executor.shutdown();
+    virtualExecutor.shutdown();
+    workerExecutor.shutdown();
   }
 }
@@ -4,8 +4,19 @@ import fr.simplex_software.workshop.executors.base.tests.*;
 import fr.simplex_software.workshop.executors.reactive.*;
 import io.quarkus.test.common.http.*;
 import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
 
 import java.net.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.temporal.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
 
 @QuarkusTest
 public class TestTimeResource extends BaseTimeResourceTest
@@ -19,4 +30,16 @@ public class TestTimeResource extends BaseTimeResourceTest
   {
     return timeSrvUrl;
   }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"event-loop", "worker", "virtual", "single"})
+  public void testCurrentTimeWithZoneIdPerMode(String mode)
+  {
+    Response response = given().baseUri(timeSrvUri.toString())
+      .queryParam("delay", 1).queryParam("mode", mode)
+      .when().get("{zoneId}", URLEncoder.encode("Europe/Kaliningrad", StandardCharsets.UTF_8));
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(LocalDateTime.parse(response.prettyPrint(), DateTimeFormatter.ofPattern(FMT)))
+      .isCloseTo(LocalDateTime.now(), byLessThan(1, ChronoUnit.HOURS));
+  }
 }
@@ -0,0 +1,7 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import java.util.*;
+
+public record BatchTime(int requested, int failed, long elapsedMillis, List<ZoneTime> zones)
+{
+}
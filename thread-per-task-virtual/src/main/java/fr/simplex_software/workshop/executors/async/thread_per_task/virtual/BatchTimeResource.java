@@ -0,0 +1,114 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.*;
+import fr.simplex_software.workshop.executors.base.*;
+import io.smallrye.common.annotation.*;
+import jakarta.inject.*;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+import org.eclipse.microprofile.config.inject.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Path("time-vt-batch")
+@RunOnVirtualThread
+public class BatchTimeResource
+{
+  private static final String APPLICATION_NDJSON = "application/x-ndjson";
+  @ConfigProperty(name = "executors.batch.deadline", defaultValue = "2s")
+  private Duration deadline;
+  @ConfigProperty(name = "executors.batch.max-zones", defaultValue = "1000")
+  private int maxZones;
+  @Inject
+  private ObjectMapper objectMapper;
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public BatchTime getTimes(@QueryParam("zone") List<String> zoneIds, @QueryParam("timeout") String timeout,
+                            @HeaderParam(Deadline.HEADER) String timeoutHeader)
+  {
+    return fanOut(zoneIds, timeout, timeoutHeader);
+  }
+
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public BatchTime postTimes(List<String> zoneIds, @QueryParam("timeout") String timeout,
+                             @HeaderParam(Deadline.HEADER) String timeoutHeader)
+  {
+    return fanOut(zoneIds, timeout, timeoutHeader);
+  }
+
+  @GET
+  @Produces(APPLICATION_NDJSON)
+  public String getTimesAsNdjson(@QueryParam("zone") List<String> zoneIds, @QueryParam("timeout") String timeout,
+                                 @HeaderParam(Deadline.HEADER) String timeoutHeader)
+  {
+    return toNdjson(fanOut(zoneIds, timeout, timeoutHeader));
+  }
+
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(APPLICATION_NDJSON)
+  public String postTimesAsNdjson(List<String> zoneIds, @QueryParam("timeout") String timeout,
+                                  @HeaderParam(Deadline.HEADER) String timeoutHeader)
+  {
+    return toNdjson(fanOut(zoneIds, timeout, timeoutHeader));
+  }
+
+  private BatchTime fanOut(List<String> zoneIds, String timeout, String timeoutHeader)
+  {
+    long timeoutMillis = timeout != null || timeoutHeader != null ?
+      Deadline.of("time-vt-batch", timeout, timeoutHeader).timeoutMillis() : deadline.toMillis();
+    if (zoneIds == null || zoneIds.isEmpty())
+      throw new BadRequestException("At least one zone ID is required");
+    if (zoneIds.size() > maxZones)
+      throw new BadRequestException("At most " + maxZones + " zone IDs are accepted");
+    long start = System.nanoTime();
+    List<Callable<String>> tasks = zoneIds.stream()
+      .<Callable<String>>map(zoneId -> () -> ZoneCache.ofZoneId(zoneId).now())
+      .toList();
+    List<ZoneTime> zones = new ArrayList<>(zoneIds.size());
+    try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      List<Future<String>> futures = scope.invokeAll(tasks, timeoutMillis, TimeUnit.MILLISECONDS);
+      for (int i = 0; i < futures.size(); i++)
+        zones.add(toZoneTime(zoneIds.get(i), futures.get(i)));
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while computing the batch");
+    }
+    int failed = (int) zones.stream().filter(zone -> zone.error() != null).count();
+    return new BatchTime(zoneIds.size(), failed, Duration.ofNanos(System.nanoTime() - start).toMillis(), zones);
+  }
+
+  private static ZoneTime toZoneTime(String zoneId, Future<String> future)
+  {
+    return switch (future.state())
+    {
+      case SUCCESS -> ZoneTime.success(zoneId, future.resultNow());
+      case FAILED -> ZoneTime.failure(zoneId, String.valueOf(future.exceptionNow().getMessage()));
+      default -> ZoneTime.failure(zoneId, "Deadline exceeded");
+    };
+  }
+
+  private String toNdjson(BatchTime batch)
+  {
+    StringBuilder ndjson = new StringBuilder();
+    try
+    {
+      for (ZoneTime zone : batch.zones())
+        ndjson.append(objectMapper.writeValueAsString(zone)).append('\n');
+    }
+    catch (JsonProcessingException e)
+    {
+      throw new InternalServerErrorException(e);
+    }
+    return ndjson.toString();
+  }
+}
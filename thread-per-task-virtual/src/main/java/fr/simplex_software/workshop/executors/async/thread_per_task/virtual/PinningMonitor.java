@@ -0,0 +1,180 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import fr.simplex_software.workshop.executors.base.*;
+import io.micrometer.core.instrument.*;
+import io.quarkus.runtime.*;
+import jakarta.annotation.*;
+import jakarta.enterprise.context.*;
+import jakarta.enterprise.event.*;
+import jdk.jfr.consumer.*;
+import org.eclipse.microprofile.config.inject.*;
+import org.slf4j.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+@ApplicationScoped
+public class PinningMonitor
+{
+  private static final Logger LOG = LoggerFactory.getLogger(PinningMonitor.class);
+  private static final String PINNED = "jdk.VirtualThreadPinned";
+  private static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+  private static final String CARRIER_THREAD = "jdk.internal.misc.CarrierThread";
+  private static final int MAX_SITES = 1000;
+  @ConfigProperty(name = "executors.virtual.pinning.enabled", defaultValue = "false")
+  private boolean enabled;
+  @ConfigProperty(name = "executors.virtual.pinning.duration", defaultValue = "5m")
+  private Duration duration;
+  @ConfigProperty(name = "executors.virtual.pinning.threshold", defaultValue = "20ms")
+  private Duration threshold;
+  @ConfigProperty(name = "executors.virtual.pinning.stack-depth", defaultValue = "10")
+  private int stackDepth;
+  @ConfigProperty(name = "executors.virtual.carriers.sample-interval", defaultValue = "1s")
+  private Duration sampleInterval;
+  private final int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+    Runtime.getRuntime().availableProcessors());
+  private final ConcurrentMap<List<String>, Site> sites = new ConcurrentHashMap<>();
+  private final LogLinearHistogram pinned = new LogLinearHistogram();
+  private final LongAccumulator pinnedMax = new LongAccumulator(Math::max, 0);
+  private final LongAdder submitFailed = new LongAdder();
+  private final AtomicInteger carriers = new AtomicInteger();
+  private final AtomicInteger busyCarriers = new AtomicInteger();
+  private final AtomicInteger peakBusyCarriers = new AtomicInteger();
+  private final List<Meter> meters = new ArrayList<>();
+  private volatile RecordingStream stream;
+  private ScheduledExecutorService sampler;
+
+  void onStart(@Observes StartupEvent event)
+  {
+    if (!enabled)
+      return;
+    stream = new RecordingStream();
+    stream.enable(PINNED).withThreshold(threshold).withStackTrace();
+    stream.enable(SUBMIT_FAILED).withStackTrace();
+    stream.onEvent(PINNED, this::onPinned);
+    stream.onEvent(SUBMIT_FAILED, e -> submitFailed.increment());
+    stream.startAsync();
+    sampler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("pinning-monitor")
+      .factory());
+    sampler.schedule(this::stopRecording, duration.toMillis(), TimeUnit.MILLISECONDS);
+    sampler.scheduleAtFixedRate(this::sampleCarriers, 0, sampleInterval.toMillis(), TimeUnit.MILLISECONDS);
+    MeterRegistry registry = Metrics.globalRegistry;
+    meters.add(Gauge.builder("executors.virtual.carriers.parallelism", () -> parallelism).register(registry));
+    meters.add(Gauge.builder("executors.virtual.carriers.live", carriers, AtomicInteger::get).register(registry));
+    meters.add(Gauge.builder("executors.virtual.carriers.busy", busyCarriers, AtomicInteger::get).register(registry));
+    meters.add(FunctionCounter.builder("executors.virtual.pinned", pinned, LogLinearHistogram::count)
+      .register(registry));
+    meters.add(FunctionCounter.builder("executors.virtual.pinned.seconds", pinned, h -> h.sum() / 1e9)
+      .register(registry));
+    meters.add(FunctionCounter.builder("executors.virtual.submit.failed", submitFailed, LongAdder::sum)
+      .register(registry));
+  }
+
+  @PreDestroy
+  void close()
+  {
+    if (sampler != null)
+      sampler.shutdownNow();
+    stopRecording();
+    meters.forEach(Metrics.globalRegistry::remove);
+  }
+
+  private void stopRecording()
+  {
+    RecordingStream recording = stream;
+    stream = null;
+    if (recording != null)
+      recording.close();
+  }
+
+  private void onPinned(RecordedEvent event)
+  {
+    long nanos = event.getDuration().toNanos();
+    pinned.record(nanos);
+    pinnedMax.accumulate(nanos);
+    List<String> stackTrace = frames(event.getStackTrace());
+    Site site = sites.get(stackTrace);
+    if (site == null && sites.size() < MAX_SITES)
+      site = sites.computeIfAbsent(stackTrace, key -> new Site());
+    if (site != null)
+      site.record(nanos);
+    else
+      LOG.debug("Dropping a pinning site beyond the {} tracked ones", MAX_SITES);
+  }
+
+  private List<String> frames(RecordedStackTrace stackTrace)
+  {
+    if (stackTrace == null)
+      return List.of();
+    return stackTrace.getFrames().stream().limit(stackDepth)
+      .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" +
+        frame.getLineNumber())
+      .toList();
+  }
+
+  private void sampleCarriers()
+  {
+    int live = 0;
+    int busy = 0;
+    for (Thread thread : threads())
+      if (thread.getClass().getName().equals(CARRIER_THREAD))
+      {
+        live++;
+        if (Arrays.stream(thread.getStackTrace())
+          .anyMatch(frame -> frame.getClassName().equals("jdk.internal.vm.Continuation")))
+          busy++;
+      }
+    carriers.set(live);
+    busyCarriers.set(busy);
+    peakBusyCarriers.accumulateAndGet(busy, Math::max);
+  }
+
+  private static Thread[] threads()
+  {
+    ThreadGroup root = Thread.currentThread().getThreadGroup();
+    while (root.getParent() != null)
+      root = root.getParent();
+    Thread[] threads = new Thread[root.activeCount() + 16];
+    int count = root.enumerate(threads);
+    while (count == threads.length)
+    {
+      threads = new Thread[threads.length * 2];
+      count = root.enumerate(threads);
+    }
+    return Arrays.copyOf(threads, count);
+  }
+
+  public PinningReport report(int limit)
+  {
+    List<PinningSite> top = sites.entrySet().stream()
+      .map(entry -> entry.getValue().toSite(entry.getKey()))
+      .sorted(Comparator.comparingDouble(PinningSite::totalMillis).reversed())
+      .limit(limit)
+      .collect(Collectors.toList());
+    return new PinningReport(enabled, stream != null, threshold.toNanos() / 1e6, parallelism, carriers.get(),
+      busyCarriers.get(), peakBusyCarriers.get(), pinned.count(), pinned.percentile(0.5) / 1e6,
+      pinned.percentile(0.99) / 1e6, pinnedMax.get() / 1e6, submitFailed.sum(), top);
+  }
+
+  private static final class Site
+  {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private void record(long nanos)
+    {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+    }
+
+    private PinningSite toSite(List<String> stackTrace)
+    {
+      return new PinningSite(stackTrace, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import java.util.*;
+
+public record PinningReport(boolean enabled, boolean recording, double thresholdMillis, int parallelism, int carriers,
+                            int busyCarriers, int peakBusyCarriers, long pinnedEvents, double pinnedP50Millis,
+                            double pinnedP99Millis, double pinnedMaxMillis, long submitFailedEvents,
+                            List<PinningSite> sites)
+{
+}
@@ -0,0 +1,21 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import jakarta.inject.*;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+
+@Path("time-vt-pinning")
+@Produces(MediaType.APPLICATION_JSON)
+public class PinningResource
+{
+  @Inject
+  private PinningMonitor monitor;
+
+  @GET
+  public PinningReport getPinning(@QueryParam("limit") @DefaultValue("10") int limit)
+  {
+    if (limit < 1)
+      throw new BadRequestException("The limit must be positive");
+    return monitor.report(limit);
+  }
+}
@@ -0,0 +1,7 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import java.util.*;
+
+public record PinningSite(List<String> stackTrace, long count, double totalMillis, double maxMillis)
+{
+}
@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual;
+
+import com.fasterxml.jackson.annotation.*;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ZoneTime(String zoneId, String time, String error)
+{
+  public static ZoneTime success(String zoneId, String time)
+  {
+    return new ZoneTime(zoneId, time, null);
+  }
+
+  public static ZoneTime failure(String zoneId, String error)
+  {
+    return new ZoneTime(zoneId, null, error);
+  }
+}
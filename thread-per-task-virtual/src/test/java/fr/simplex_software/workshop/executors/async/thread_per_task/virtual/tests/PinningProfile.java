@@ -0,0 +1,14 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class PinningProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.virtual.pinning.enabled", "true");
+  }
+}
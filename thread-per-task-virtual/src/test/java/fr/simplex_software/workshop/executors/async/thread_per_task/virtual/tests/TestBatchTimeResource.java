@@ -0,0 +1,67 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_per_task.virtual.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.http.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.util.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+public class TestBatchTimeResource
+{
+  @TestHTTPEndpoint(BatchTimeResource.class)
+  @TestHTTPResource
+  URL url;
+
+  @Test
+  public void testBatchWithQueryParameters()
+  {
+    Response response = given().accept(ContentType.JSON)
+      .queryParam("zone", "Europe/Kaliningrad", "Etc/GMT+3", "Not/AZone").when().get(url);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.jsonPath().getInt("requested")).isEqualTo(3);
+    assertThat(response.jsonPath().getInt("failed")).isEqualTo(1);
+    assertThat(response.jsonPath().getList("zones.zoneId"))
+      .containsExactly("Europe/Kaliningrad", "Etc/GMT+3", "Not/AZone");
+    assertThat(response.jsonPath().getString("zones[1].time")).endsWith("-03:00 GMT-03:00");
+    assertThat(response.jsonPath().getString("zones[2].error")).isNotBlank();
+  }
+
+  @Test
+  public void testBatchWithBodyAsNdjson()
+  {
+    Response response = given().contentType(ContentType.JSON).accept("application/x-ndjson")
+      .body(List.of("Europe/Paris", "America/New_York")).when().post(url);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.asString().lines()).hasSize(2)
+      .allMatch(line -> line.startsWith("{\"zoneId\":") && line.contains("\"time\":"));
+  }
+
+  @Test
+  public void testEmptyBatch()
+  {
+    assertThat(given().accept(ContentType.JSON).when().get(url).statusCode()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+  }
+
+  @Test
+  public void testBatchTimeout()
+  {
+    assertThat(given().accept(ContentType.JSON).queryParam("zone", "UTC").queryParam("timeout", "5s").when().get(url)
+      .statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(given().accept(ContentType.JSON).header("X-Request-Timeout", "500ms").queryParam("zone", "UTC")
+      .when().get(url).statusCode()).isEqualTo(HttpStatus.SC_OK);
+    for (String timeout : List.of("0", "-1", "2h", "soon"))
+      assertThat(given().accept(ContentType.JSON).queryParam("zone", "UTC").queryParam("timeout", timeout).when()
+        .get(url).statusCode()).as(timeout).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+    assertThat(given().accept(ContentType.JSON).header("X-Request-Timeout", "0").queryParam("zone", "UTC")
+      .when().get(url).statusCode()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+  }
+}
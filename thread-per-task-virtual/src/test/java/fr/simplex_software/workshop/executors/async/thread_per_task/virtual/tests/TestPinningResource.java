@@ -0,0 +1,79 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task.virtual.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_per_task.virtual.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.path.json.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.util.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(PinningProfile.class)
+public class TestPinningResource
+{
+  private static final Object LOCK = new Object();
+
+  @TestHTTPEndpoint(PinningResource.class)
+  @TestHTTPResource
+  URL url;
+
+  @Test
+  public void testPinningIsReported() throws Exception
+  {
+    Thread.ofVirtual().start(TestPinningResource::sleepWhilePinned).join();
+    JsonPath report = null;
+    List<String> frames = List.of();
+    for (int attempt = 0; attempt < 50 && frames.stream().noneMatch(TestPinningResource::isPinningFrame); attempt++)
+    {
+      Thread.sleep(200);
+      report = given().queryParam("limit", 100).when().get(url).then().statusCode(HttpStatus.SC_OK).extract()
+        .jsonPath();
+      frames = report.getList("sites.stackTrace.flatten()", String.class);
+    }
+    assertThat(report.getBoolean("enabled")).isTrue();
+    assertThat(report.getBoolean("recording")).isTrue();
+    assertThat(report.getInt("parallelism")).isPositive();
+    assertThat(report.getLong("pinnedEvents")).isPositive();
+    assertThat(report.getDouble("pinnedMaxMillis")).isGreaterThanOrEqualTo(50);
+    assertThat(frames).anyMatch(TestPinningResource::isPinningFrame);
+  }
+
+  @Test
+  public void testCarriersAreSampled() throws Exception
+  {
+    Thread.ofVirtual().start(TestPinningResource::sleepWhilePinned).join();
+    int carriers = 0;
+    for (int attempt = 0; attempt < 50 && carriers == 0; attempt++)
+    {
+      Thread.sleep(200);
+      carriers = given().when().get(url).then().statusCode(HttpStatus.SC_OK).extract().jsonPath().getInt("carriers");
+    }
+    assertThat(carriers).isPositive();
+  }
+
+  private static boolean isPinningFrame(String frame)
+  {
+    return frame.contains("TestPinningResource.sleepWhilePinned");
+  }
+
+  private static void sleepWhilePinned()
+  {
+    synchronized (LOCK)
+    {
+      try
+      {
+        Thread.sleep(100);
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
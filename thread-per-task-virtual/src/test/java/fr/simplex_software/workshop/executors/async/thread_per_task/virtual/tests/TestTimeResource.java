@@ -4,19 +4,37 @@ import fr.simplex_software.workshop.executors.async.thread_per_task.virtual.*;
 import fr.simplex_software.workshop.executors.base.tests.*;
 import io.quarkus.test.common.http.*;
 import io.quarkus.test.junit.*;
+import io.restassured.path.json.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
 
 import java.net.*;
 
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
 @QuarkusTest
 public class TestTimeResource extends BaseTimeResourceTest
 {
   @TestHTTPEndpoint(TimeResource.class)
   @TestHTTPResource
   URL timeSrvUrl;
+  @TestHTTPEndpoint(PinningResource.class)
+  @TestHTTPResource
+  URL pinningUrl;
 
   @Override
   protected URL getTimeSrvURL()
   {
     return timeSrvUrl;
   }
+
+  @Test
+  public void testPinningMonitorIsOffByDefault()
+  {
+    JsonPath report = given().when().get(pinningUrl).then().statusCode(HttpStatus.SC_OK).extract().jsonPath();
+    assertThat(report.getBoolean("enabled")).isFalse();
+    assertThat(report.getBoolean("recording")).isFalse();
+    assertThat(report.getLong("pinnedEvents")).isZero();
+  }
 }
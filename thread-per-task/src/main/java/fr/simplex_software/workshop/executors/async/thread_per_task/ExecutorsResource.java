@@ -1,10 +1,14 @@
 package fr.simplex_software.workshop.executors.async.thread_per_task;
 
+import io.quarkus.runtime.configuration.*;
+import jakarta.annotation.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.container.*;
 import jakarta.ws.rs.core.*;
+import org.eclipse.microprofile.config.inject.*;
 import org.slf4j.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.*;
 
@@ -14,8 +18,28 @@ public class ExecutorsResource
 {
   private static final Logger LOG = LoggerFactory.getLogger(ExecutorsResource.class);
   private final ExecutorService fixedPool = Executors.newFixedThreadPool(2);
-  private final ExecutorService perTaskExecutor =
-    Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory());
+  @ConfigProperty(name = "executors.thread-per-task.mode", defaultValue = "unbounded")
+  private ThreadPerTaskMode mode;
+  @ConfigProperty(name = "executors.thread-per-task.max-threads", defaultValue = "256")
+  private int maxThreads;
+  @ConfigProperty(name = "executors.thread-per-task.queue-capacity", defaultValue = "0")
+  private int queueCapacity;
+  @ConfigProperty(name = "executors.thread-per-task.stack-size")
+  private Optional<MemorySize> stackSize;
+  private ExecutorService perTaskExecutor;
+
+  @PostConstruct
+  void postConstruct()
+  {
+    perTaskExecutor = mode.newExecutor("execs", maxThreads, queueCapacity, stackSize);
+  }
+
+  @PreDestroy
+  void cleanup()
+  {
+    fixedPool.shutdown();
+    perTaskExecutor.shutdown();
+  }
 
   @GET
   public void getDateAndTime(@QueryParam("delay") @DefaultValue("0") int delay,
@@ -38,7 +62,15 @@ public class ExecutorsResource
     LOG.debug("*** Fixed pool execution:");
     IntStream.range(0, 4).forEach(i -> fixedPool.submit(task));
     LOG.debug("*** Per-task execution:");
-    IntStream.range(0, 4).forEach(i -> perTaskExecutor.submit(task));
+    try
+    {
+      IntStream.range(0, 4).forEach(i -> perTaskExecutor.submit(task));
+    }
+    catch (RejectedExecutionException e)
+    {
+      asyncResponse.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(e.getMessage()).build());
+      return;
+    }
     asyncResponse.resume(Response.ok("OK").build());
   }
 }
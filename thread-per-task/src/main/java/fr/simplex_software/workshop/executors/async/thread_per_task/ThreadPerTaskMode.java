@@ -0,0 +1,23 @@
+package fr.simplex_software.workshop.executors.async.thread_per_task;
+
+import fr.simplex_software.workshop.executors.base.*;
+import io.quarkus.runtime.configuration.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public enum ThreadPerTaskMode
+{
+  UNBOUNDED, BOUNDED;
+
+  public ExecutorService newExecutor(String name, int maxThreads, int queueCapacity, Optional<MemorySize> stackSize)
+  {
+    Thread.Builder.OfPlatform builder = Thread.ofPlatform().name(name + "-", 0);
+    stackSize.ifPresent(size -> builder.stackSize(size.asLongValue()));
+    return switch (this)
+    {
+      case UNBOUNDED -> Executors.newThreadPerTaskExecutor(builder.factory());
+      case BOUNDED -> new BoundedThreadPerTaskExecutor(builder.factory(), maxThreads, queueCapacity);
+    };
+  }
+}
@@ -1,17 +1,28 @@
 package fr.simplex_software.workshop.executors.async.thread_per_task;
 
 import fr.simplex_software.workshop.executors.base.*;
+import io.quarkus.runtime.configuration.*;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.container.*;
+import org.eclipse.microprofile.config.inject.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 
 @Path("time-async-tpt")
 public class TimeResource extends BaseTimeResource
 {
+  @ConfigProperty(name = "executors.thread-per-task.mode", defaultValue = "unbounded")
+  private ThreadPerTaskMode mode;
+  @ConfigProperty(name = "executors.thread-per-task.max-threads", defaultValue = "256")
+  private int maxThreads;
+  @ConfigProperty(name = "executors.thread-per-task.queue-capacity", defaultValue = "0")
+  private int queueCapacity;
+  @ConfigProperty(name = "executors.thread-per-task.stack-size")
+  private Optional<MemorySize> stackSize;
+
   @Override
   protected ExecutorService getExecutor()
   {
-    return Executors.newThreadPerTaskExecutor(Executors.defaultThreadFactory());
+    return mode.newExecutor(strategyName(), maxThreads, queueCapacity, stackSize);
   }
 }
@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.thread_per_task.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class BoundedThreadPerTaskProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.thread-per-task.mode", "bounded",
+      "executors.thread-per-task.max-threads", "1",
+      "executors.thread-per-task.queue-capacity", "1",
+      "executors.thread-per-task.stack-size", "256k");
+  }
+}
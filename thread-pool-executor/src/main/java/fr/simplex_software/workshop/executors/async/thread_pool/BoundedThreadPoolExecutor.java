@@ -0,0 +1,49 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import fr.simplex_software.workshop.executors.base.*;
+
+import java.util.concurrent.*;
+
+public class BoundedThreadPoolExecutor extends ThreadPoolExecutor
+{
+  private final CoDel coDel;
+
+  public BoundedThreadPoolExecutor(int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy, CoDel coDel)
+  {
+    super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), rejectionPolicy);
+    this.coDel = coDel;
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    super.execute(coDel == null || command instanceof Enqueued ? command : new Enqueued(command, System.nanoTime()));
+  }
+
+  private final class Enqueued implements DelegatingTask
+  {
+    private final Runnable task;
+    private final long enqueuedNanos;
+
+    private Enqueued(Runnable task, long enqueuedNanos)
+    {
+      this.task = task;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+
+    @Override
+    public Runnable delegate()
+    {
+      return task;
+    }
+
+    @Override
+    public void run()
+    {
+      if (coDel.shouldDrop(System.nanoTime() - enqueuedNanos))
+        TimeTask.reject(task);
+      else
+        task.run();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import io.vertx.core.http.*;
+
+import java.util.*;
+
+public enum ClientIdentity
+{
+  IP, HEADER;
+
+  public String of(HttpServerRequest request, String header)
+  {
+    if (request == null)
+      return null;
+    if (this == HEADER)
+    {
+      String key = request.getHeader(header);
+      if (key != null && !key.isBlank())
+        return key;
+    }
+    return request.remoteAddress() != null ? request.remoteAddress().hostAddress() : null;
+  }
+
+  public static ClientIdentity fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
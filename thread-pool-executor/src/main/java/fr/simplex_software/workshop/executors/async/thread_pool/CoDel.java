@@ -0,0 +1,33 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import java.time.*;
+import java.util.concurrent.atomic.*;
+
+public class CoDel
+{
+  private final long targetNanos;
+  private final long intervalNanos;
+  private final AtomicLong minSojournNanos = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong intervalEnd;
+  private volatile boolean overloaded;
+
+  public CoDel(Duration target, Duration interval)
+  {
+    this.targetNanos = target.toNanos();
+    this.intervalNanos = interval.toNanos();
+    this.intervalEnd = new AtomicLong(System.nanoTime() + intervalNanos);
+  }
+
+  public boolean shouldDrop(long sojournNanos)
+  {
+    long now = System.nanoTime();
+    long end = intervalEnd.get();
+    if (now >= end && intervalEnd.compareAndSet(end, now + intervalNanos))
+    {
+      overloaded = minSojournNanos.getAndSet(sojournNanos) > targetNanos;
+      return overloaded && sojournNanos > targetNanos;
+    }
+    minSojournNanos.accumulateAndGet(sojournNanos, Math::min);
+    return overloaded && sojournNanos > targetNanos;
+  }
+}
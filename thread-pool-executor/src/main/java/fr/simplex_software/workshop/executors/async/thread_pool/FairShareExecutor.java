@@ -0,0 +1,413 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import fr.simplex_software.workshop.executors.base.*;
+import io.micrometer.core.instrument.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+public class FairShareExecutor extends AbstractExecutorService
+{
+  private final PriorityClassifier classifier;
+  private final ServiceClass[] classes;
+  private final long quantum;
+  private final Map<String, Integer> weights;
+  private final long maxWaitNanos;
+  private final int sharedWorkers;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final List<Thread> workers = new ArrayList<>();
+  private final CountDownLatch terminated;
+  private final MeterRegistry registry;
+  private final List<Meter> meters = new ArrayList<>();
+  private volatile boolean shutdown;
+  private int sharedRunning;
+
+  public FairShareExecutor(int poolSize, int reservedWorkers, PriorityClassifier classifier, int queueCapacity,
+                           long quantum, Map<String, Integer> weights, Duration maxWait, ThreadFactory threadFactory,
+                           String module, MeterRegistry registry)
+  {
+    if (poolSize < 1 || queueCapacity < 1 || quantum < 1)
+      throw new IllegalArgumentException("poolSize, queueCapacity and quantum must be positive");
+    this.classifier = classifier;
+    this.classes = classifier.classes().stream().map(name -> new ServiceClass(name, queueCapacity))
+      .toArray(ServiceClass[]::new);
+    this.quantum = quantum;
+    this.weights = Map.copyOf(weights);
+    this.maxWaitNanos = maxWait.toNanos();
+    this.sharedWorkers = poolSize - Math.min(Math.max(reservedWorkers, 0), poolSize - 1);
+    this.terminated = new CountDownLatch(poolSize);
+    this.registry = registry;
+    if (registry != null)
+      for (ServiceClass serviceClass : classes)
+      {
+        Tags tags = Tags.of("module", module, "class", serviceClass.name);
+        meters.add(Gauge.builder("executors.fair.queued", serviceClass, c -> c.size).tags(tags).register(registry));
+        meters.add(Gauge.builder("executors.fair.clients", serviceClass, c -> c.clients).tags(tags).register(registry));
+        meters.add(FunctionCounter.builder("executors.fair.rejected", serviceClass.rejected, LongAdder::sum).tags(tags)
+          .register(registry));
+        meters.add(FunctionCounter.builder("executors.fair.evicted", serviceClass.evicted, LongAdder::sum).tags(tags)
+          .register(registry));
+        meters.add(FunctionCounter.builder("executors.fair.promoted", serviceClass.promoted, LongAdder::sum).tags(tags)
+          .register(registry));
+      }
+    for (int i = 0; i < poolSize; i++)
+    {
+      Thread worker = threadFactory.newThread(this::work);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  @Override
+  public void execute(Runnable command)
+  {
+    Objects.requireNonNull(command);
+    TimeTask task = DelegatingTask.unwrap(command) instanceof TimeTask timeTask ? timeTask : null;
+    ServiceClass serviceClass = classes[task != null ? classifier.classFor(task.endpoint(), task.delay()) : 0];
+    String client = task != null && task.client() != null ? task.client() : "";
+    Runnable evicted = null;
+    lock.lock();
+    try
+    {
+      if (shutdown)
+      {
+        serviceClass.rejected.increment();
+        evicted = command;
+      }
+      else
+      {
+        Flow flow = serviceClass.flows.get(client);
+        if (serviceClass.size >= serviceClass.capacity)
+        {
+          Flow longest = serviceClass.longest();
+          if (longest == flow || longest.tasks.size() <= (flow != null ? flow.tasks.size() : 0) + 1)
+          {
+            serviceClass.rejected.increment();
+            evicted = command;
+          }
+          else
+          {
+            evicted = serviceClass.removeLast(longest);
+            serviceClass.evicted.increment();
+          }
+        }
+        if (evicted != command)
+        {
+          serviceClass.add(client, weights.getOrDefault(client, 1), cost(task), command);
+          notEmpty.signal();
+        }
+      }
+    }
+    finally
+    {
+      lock.unlock();
+    }
+    if (evicted != null)
+      TimeTask.reject(evicted);
+  }
+
+  private static long cost(TimeTask task)
+  {
+    return task != null ? TimeUnit.MILLISECONDS.toSeconds(task.sleepMillis()) + 1L : 1L;
+  }
+
+  public static Map<String, Integer> parseWeights(List<String> weights)
+  {
+    Map<String, Integer> parsed = new HashMap<>();
+    for (String weight : weights)
+    {
+      String[] pair = weight.split("=", 2);
+      String client = pair[0].trim();
+      int share;
+      try
+      {
+        share = pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 0;
+      }
+      catch (NumberFormatException e)
+      {
+        share = 0;
+      }
+      if (client.isEmpty() || share < 1)
+        throw new IllegalArgumentException("Invalid fair share weight '" + weight +
+          "', expected client=weight with a positive integer weight");
+      if (parsed.putIfAbsent(client, share) != null)
+        throw new IllegalArgumentException("Duplicate fair share weight for client '" + client + "'");
+    }
+    return parsed;
+  }
+
+  private void work()
+  {
+    try
+    {
+      for (Dispatch dispatch = take(); dispatch != null; dispatch = take())
+        try
+        {
+          dispatch.task.run();
+        }
+        catch (RuntimeException e)
+        {
+          Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+        finally
+        {
+          done(dispatch.serviceClass);
+        }
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      terminated.countDown();
+    }
+  }
+
+  private Dispatch take() throws InterruptedException
+  {
+    lock.lockInterruptibly();
+    try
+    {
+      while (true)
+      {
+        ServiceClass next = next(System.nanoTime());
+        if (next != null)
+        {
+          if (next != classes[0])
+            sharedRunning++;
+          return new Dispatch(next, next.poll(quantum));
+        }
+        if (shutdown && Arrays.stream(classes).allMatch(serviceClass -> serviceClass.size == 0))
+          return null;
+        notEmpty.await();
+      }
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  private void done(ServiceClass serviceClass)
+  {
+    if (serviceClass == classes[0])
+      return;
+    lock.lock();
+    try
+    {
+      sharedRunning--;
+      notEmpty.signal();
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  private ServiceClass next(long now)
+  {
+    ServiceClass first = classes[0].size > 0 ? classes[0] : null;
+    ServiceClass starved = null;
+    if (sharedRunning < sharedWorkers)
+      for (int i = 1; i < classes.length; i++)
+      {
+        ServiceClass serviceClass = classes[i];
+        if (serviceClass.size == 0)
+          continue;
+        if (first == null)
+          first = serviceClass;
+        else if (now - serviceClass.lastServedNanos > maxWaitNanos &&
+          (starved == null || serviceClass.lastServedNanos < starved.lastServedNanos))
+          starved = serviceClass;
+      }
+    if (starved == null)
+      return first;
+    starved.promoted.increment();
+    return starved;
+  }
+
+  public List<String> getClasses()
+  {
+    return Arrays.stream(classes).map(serviceClass -> serviceClass.name).toList();
+  }
+
+  public int getQueueSize(String name)
+  {
+    return Arrays.stream(classes).filter(serviceClass -> serviceClass.name.equals(name))
+      .mapToInt(serviceClass -> serviceClass.size).sum();
+  }
+
+  public int getRemainingCapacity(String name)
+  {
+    return Arrays.stream(classes).filter(serviceClass -> serviceClass.name.equals(name))
+      .mapToInt(serviceClass -> serviceClass.capacity - serviceClass.size).sum();
+  }
+
+  @Override
+  public void shutdown()
+  {
+    lock.lock();
+    try
+    {
+      shutdown = true;
+      notEmpty.signalAll();
+    }
+    finally
+    {
+      lock.unlock();
+    }
+    meters.forEach(registry::remove);
+  }
+
+  @Override
+  public List<Runnable> shutdownNow()
+  {
+    shutdown();
+    List<Runnable> pending = new ArrayList<>();
+    lock.lock();
+    try
+    {
+      for (ServiceClass serviceClass : classes)
+        serviceClass.drainTo(pending);
+    }
+    finally
+    {
+      lock.unlock();
+    }
+    workers.forEach(Thread::interrupt);
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown()
+  {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated()
+  {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return terminated.await(timeout, unit);
+  }
+
+  private static final class ServiceClass
+  {
+    private final String name;
+    private final int capacity;
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final ArrayDeque<Flow> active = new ArrayDeque<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder promoted = new LongAdder();
+    private volatile int size;
+    private volatile int clients;
+    private long lastServedNanos;
+
+    private ServiceClass(String name, int capacity)
+    {
+      this.name = name;
+      this.capacity = capacity;
+    }
+
+    private void add(String client, int weight, long cost, Runnable task)
+    {
+      if (size == 0)
+        lastServedNanos = System.nanoTime();
+      Flow flow = flows.computeIfAbsent(client, key -> new Flow(key, weight));
+      if (flow.tasks.isEmpty())
+        active.addLast(flow);
+      flow.tasks.addLast(new Queued(task, cost));
+      size++;
+      clients = flows.size();
+    }
+
+    private Runnable poll(long quantum)
+    {
+      while (true)
+      {
+        Flow flow = active.peekFirst();
+        Queued head = flow.tasks.peekFirst();
+        if (flow.deficit < head.cost)
+        {
+          flow.deficit += quantum * flow.weight;
+          active.addLast(active.pollFirst());
+          continue;
+        }
+        flow.deficit -= head.cost;
+        flow.tasks.pollFirst();
+        if (flow.tasks.isEmpty())
+          remove(flow);
+        size--;
+        lastServedNanos = System.nanoTime();
+        return head.task;
+      }
+    }
+
+    private Flow longest()
+    {
+      Flow longest = null;
+      for (Flow flow : active)
+        if (longest == null || flow.tasks.size() > longest.tasks.size())
+          longest = flow;
+      return longest;
+    }
+
+    private Runnable removeLast(Flow flow)
+    {
+      Runnable task = flow.tasks.pollLast().task;
+      if (flow.tasks.isEmpty())
+        remove(flow);
+      size--;
+      return task;
+    }
+
+    private void remove(Flow flow)
+    {
+      active.remove(flow);
+      flows.remove(flow.client);
+      clients = flows.size();
+    }
+
+    private void drainTo(List<Runnable> pending)
+    {
+      active.forEach(flow -> flow.tasks.forEach(queued -> pending.add(queued.task)));
+      active.clear();
+      flows.clear();
+      size = 0;
+      clients = 0;
+    }
+  }
+
+  private static final class Flow
+  {
+    private final String client;
+    private final int weight;
+    private final ArrayDeque<Queued> tasks = new ArrayDeque<>();
+    private long deficit;
+
+    private Flow(String client, int weight)
+    {
+      this.client = client;
+      this.weight = weight;
+    }
+  }
+
+  private record Queued(Runnable task, long cost)
+  {
+  }
+
+  private record Dispatch(ServiceClass serviceClass, Runnable task)
+  {
+  }
+}
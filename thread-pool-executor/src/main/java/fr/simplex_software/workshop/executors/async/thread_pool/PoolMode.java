@@ -0,0 +1,6 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+public enum PoolMode
+{
+  FIXED, BOUNDED, FAIR
+}
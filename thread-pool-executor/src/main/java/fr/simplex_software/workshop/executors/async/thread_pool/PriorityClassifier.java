@@ -0,0 +1,33 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import java.util.*;
+
+public enum PriorityClassifier
+{
+  NONE, ENDPOINT, DELAY;
+
+  public List<String> classes()
+  {
+    return switch (this)
+    {
+      case NONE -> List.of("all");
+      case ENDPOINT -> List.of("default", "zone");
+      case DELAY -> List.of("immediate", "delayed");
+    };
+  }
+
+  public int classFor(String endpoint, int delay)
+  {
+    return switch (this)
+    {
+      case NONE -> 0;
+      case ENDPOINT -> "default".equals(endpoint) ? 0 : 1;
+      case DELAY -> delay > 0 ? 1 : 0;
+    };
+  }
+
+  public static PriorityClassifier fromString(String value)
+  {
+    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+  }
+}
@@ -0,0 +1,44 @@
+package fr.simplex_software.workshop.executors.async.thread_pool;
+
+import fr.simplex_software.workshop.executors.base.*;
+
+import java.util.concurrent.*;
+
+public enum RejectionPolicy implements RejectedExecutionHandler
+{
+  ABORT
+  {
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor)
+    {
+      TimeTask.reject(task);
+    }
+  },
+  CALLER_RUNS
+  {
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor)
+    {
+      if (executor.isShutdown() || Delays.isTimerThread())
+        TimeTask.reject(task);
+      else
+        task.run();
+    }
+  },
+  DISCARD_OLDEST
+  {
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor)
+    {
+      if (executor.isShutdown())
+      {
+        TimeTask.reject(task);
+        return;
+      }
+      Runnable oldest = executor.getQueue().poll();
+      if (oldest != null)
+        TimeTask.reject(oldest);
+      executor.execute(task);
+    }
+  }
+}
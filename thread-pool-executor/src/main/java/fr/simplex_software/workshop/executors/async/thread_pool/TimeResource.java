@@ -1,16 +1,72 @@
 package fr.simplex_software.workshop.executors.async.thread_pool;
 
 import fr.simplex_software.workshop.executors.base.*;
+import io.micrometer.core.instrument.*;
+import io.vertx.core.http.*;
 import jakarta.ws.rs.*;
+import org.eclipse.microprofile.config.inject.*;
 
+import java.time.*;
+import java.util.*;
 import java.util.concurrent.*;
 
 @Path("time-async-direct")
 public class TimeResource extends BaseTimeResource
 {
+  @ConfigProperty(name = "executors.thread-pool.mode", defaultValue = "fixed")
+  private PoolMode mode;
+  @ConfigProperty(name = "executors.thread-pool.size", defaultValue = "2")
+  private int size;
+  @ConfigProperty(name = "executors.thread-pool.queue-capacity", defaultValue = "1000")
+  private int queueCapacity;
+  @ConfigProperty(name = "executors.thread-pool.rejection-policy", defaultValue = "abort")
+  private RejectionPolicy rejectionPolicy;
+  @ConfigProperty(name = "executors.thread-pool.codel.target")
+  private Optional<Duration> coDelTarget;
+  @ConfigProperty(name = "executors.thread-pool.codel.interval", defaultValue = "100ms")
+  private Duration coDelInterval;
+  @ConfigProperty(name = "executors.thread-pool.fair.classifier", defaultValue = "delay")
+  private PriorityClassifier classifier;
+  @ConfigProperty(name = "executors.thread-pool.fair.client", defaultValue = "ip")
+  private ClientIdentity clientIdentity;
+  @ConfigProperty(name = "executors.thread-pool.fair.client-header", defaultValue = "X-API-Key")
+  private String clientHeader;
+  @ConfigProperty(name = "executors.thread-pool.fair.quantum", defaultValue = "1")
+  private long quantum;
+  @ConfigProperty(name = "executors.thread-pool.fair.weights")
+  private Optional<List<String>> weights;
+  @ConfigProperty(name = "executors.thread-pool.fair.reserved-workers", defaultValue = "1")
+  private int reservedWorkers;
+  @ConfigProperty(name = "executors.thread-pool.fair.max-wait", defaultValue = "1s")
+  private Duration maxWait;
+  @ConfigProperty(name = "executors.metrics.enabled", defaultValue = "true")
+  private boolean metricsEnabled;
+
   @Override
   protected ExecutorService getExecutor()
   {
-    return Executors.newFixedThreadPool(2);
+    return switch (mode)
+    {
+      case FIXED -> Executors.newFixedThreadPool(size);
+      case BOUNDED -> new BoundedThreadPoolExecutor(size, queueCapacity, rejectionPolicy,
+        coDelTarget.map(target -> new CoDel(target, coDelInterval)).orElse(null));
+      case FAIR -> new FairShareExecutor(size, reservedWorkers, classifier, queueCapacity, quantum,
+        FairShareExecutor.parseWeights(weights.orElse(List.of())), maxWait,
+        Thread.ofPlatform().name("fair-pool-", 0).factory(), strategyName(),
+        metricsEnabled ? Metrics.globalRegistry : null);
+    };
+  }
+
+  @Override
+  protected int remainingCapacity()
+  {
+    return executor instanceof FairShareExecutor fair ? fair.getRemainingCapacity(fair.getClasses().getFirst()) :
+      super.remainingCapacity();
+  }
+
+  @Override
+  protected String clientOf(HttpServerRequest request)
+  {
+    return mode == PoolMode.FAIR ? clientIdentity.of(request, clientHeader) : null;
   }
 }
@@ -0,0 +1,16 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class AdminProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.admin.enabled", "true",
+      "executors.adaptive.min", "1",
+      "executors.adaptive.max", "8");
+  }
+}
@@ -0,0 +1,17 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class BoundedPoolProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.thread-pool.mode", "bounded",
+      "executors.thread-pool.size", "1",
+      "executors.thread-pool.queue-capacity", "1",
+      "executors.thread-pool.rejection-policy", "abort");
+  }
+}
@@ -0,0 +1,19 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class BoundedWarmUpProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.warm-up.enabled", "true",
+      "executors.warm-up.requests", "200",
+      "executors.thread-pool.mode", "bounded",
+      "executors.thread-pool.size", "1",
+      "executors.thread-pool.queue-capacity", "2",
+      "executors.thread-pool.rejection-policy", "abort");
+  }
+}
@@ -0,0 +1,19 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class FairPoolProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.thread-pool.mode", "fair",
+      "executors.thread-pool.size", "2",
+      "executors.thread-pool.queue-capacity", "2",
+      "executors.thread-pool.fair.classifier", "delay",
+      "executors.thread-pool.fair.client", "header",
+      "executors.thread-pool.fair.reserved-workers", "1");
+  }
+}
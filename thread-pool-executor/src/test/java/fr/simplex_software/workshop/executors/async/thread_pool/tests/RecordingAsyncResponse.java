@@ -0,0 +1,104 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import jakarta.ws.rs.container.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class RecordingAsyncResponse implements AsyncResponse
+{
+  private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+  public Object get() throws Exception
+  {
+    return response.get(5, TimeUnit.SECONDS);
+  }
+
+  public boolean isResumed()
+  {
+    return response.isDone();
+  }
+
+  @Override
+  public boolean resume(Object response)
+  {
+    return this.response.complete(response);
+  }
+
+  @Override
+  public boolean resume(Throwable response)
+  {
+    return this.response.complete(response);
+  }
+
+  @Override
+  public boolean cancel()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean cancel(int retryAfter)
+  {
+    return false;
+  }
+
+  @Override
+  public boolean cancel(Date retryAfter)
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isSuspended()
+  {
+    return !response.isDone();
+  }
+
+  @Override
+  public boolean isCancelled()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isDone()
+  {
+    return response.isDone();
+  }
+
+  @Override
+  public boolean setTimeout(long time, TimeUnit unit)
+  {
+    return true;
+  }
+
+  @Override
+  public void setTimeoutHandler(TimeoutHandler handler)
+  {
+  }
+
+  @Override
+  public Collection<Class<?>> register(Class<?> callback)
+  {
+    return List.of();
+  }
+
+  @Override
+  public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks)
+  {
+    return Map.of();
+  }
+
+  @Override
+  public Collection<Class<?>> register(Object callback)
+  {
+    return List.of();
+  }
+
+  @Override
+  public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks)
+  {
+    return Map.of();
+  }
+}
@@ -0,0 +1,15 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import io.quarkus.test.junit.*;
+
+import java.util.*;
+
+public class TaskRecordingProfile implements QuarkusTestProfile
+{
+  @Override
+  public Map<String, String> getConfigOverrides()
+  {
+    return Map.of("executors.jfr.enabled", "true",
+      "executors.jfr.destination", "target/executors.jfr");
+  }
+}
@@ -0,0 +1,51 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import fr.simplex_software.workshop.executors.base.tests.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(AdminProfile.class)
+public class TestAdminTimeResource extends BaseTimeResourceTest
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Override
+  protected URL getTimeSrvURL()
+  {
+    return timeSrvUrl;
+  }
+
+  @Test
+  public void testPinLimit()
+  {
+    Response response = given().baseUri(timeSrvUri.toString()).queryParam("value", 3).when().put("admin/limit");
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.asString()).contains("limit=3", "pinned=true");
+    response = given().baseUri(timeSrvUri.toString()).when().delete("admin/limit");
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.asString()).contains("limit=3", "pinned=false");
+  }
+
+  @Test
+  public void testPinLimitOutsideTheBoundsIsRejected()
+  {
+    for (int value : new int[]{0, 9, 100_000})
+    {
+      Response response = given().baseUri(timeSrvUri.toString()).queryParam("value", value).when().put("admin/limit");
+      assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+    }
+    assertThat(given().baseUri(timeSrvUri.toString()).when().get("admin/limit").asString()).doesNotContain("limit=9");
+  }
+}
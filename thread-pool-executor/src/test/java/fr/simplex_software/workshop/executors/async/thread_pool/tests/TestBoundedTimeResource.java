@@ -0,0 +1,47 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import fr.simplex_software.workshop.executors.base.tests.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(BoundedPoolProfile.class)
+public class TestBoundedTimeResource extends BaseTimeResourceTest
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Override
+  protected URL getTimeSrvURL()
+  {
+    return timeSrvUrl;
+  }
+
+  @Test
+  public void testOverloadIsShed() throws Exception
+  {
+    Callable<Response> delayedRequest = () -> given().queryParam("delay", 2).when().get(timeSrvUri);
+    List<Response> responses = new ArrayList<>();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      for (Future<Response> response : clients.invokeAll(Collections.nCopies(4, delayedRequest)))
+        responses.add(response.get());
+    }
+    assertThat(responses).anyMatch(response -> response.statusCode() == HttpStatus.SC_OK);
+    assertThat(responses).filteredOn(response -> response.statusCode() == HttpStatus.SC_SERVICE_UNAVAILABLE)
+      .isNotEmpty()
+      .allMatch(response -> response.getHeader(HttpHeaders.RETRY_AFTER) != null);
+  }
+}
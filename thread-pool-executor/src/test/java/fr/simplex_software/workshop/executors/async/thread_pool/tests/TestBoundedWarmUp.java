@@ -0,0 +1,37 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(BoundedWarmUpProfile.class)
+public class TestBoundedWarmUp
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Test
+  public void testBatchesFitTheBoundedQueue() throws Exception
+  {
+    URI root = timeSrvUrl.toURI().resolve("/");
+    Response ready = given().when().get(root.resolve("q/health/ready"));
+    for (int i = 0; i < 100 && ready.statusCode() != HttpStatus.SC_OK; i++)
+    {
+      Thread.sleep(100);
+      ready = given().when().get(root.resolve("q/health/ready"));
+    }
+    assertThat(ready.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(ready.jsonPath().getString("checks.find { it.name == 'warm-up' }.status")).isEqualTo("UP");
+    assertThat(ready.jsonPath().getString("checks.find { it.name == 'warm-up' }.data.error")).isNull();
+  }
+}
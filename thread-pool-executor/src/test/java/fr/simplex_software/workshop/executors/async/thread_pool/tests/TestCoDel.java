@@ -0,0 +1,46 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestCoDel
+{
+  private static final long TARGET = Duration.ofMillis(10).toNanos();
+
+  @Test
+  public void testDropsNothingDuringTheFirstInterval()
+  {
+    CoDel coDel = new CoDel(Duration.ofMillis(10), Duration.ofSeconds(10));
+    for (int i = 0; i < 100; i++)
+      assertThat(coDel.shouldDrop(10 * TARGET)).isFalse();
+  }
+
+  @Test
+  public void testDropsOverTargetOnceAWholeIntervalStayedAboveTarget() throws InterruptedException
+  {
+    CoDel coDel = new CoDel(Duration.ofMillis(10), Duration.ofMillis(100));
+    assertThat(coDel.shouldDrop(2 * TARGET)).isFalse();
+    assertThat(coDel.shouldDrop(3 * TARGET)).isFalse();
+    Thread.sleep(150);
+    assertThat(coDel.shouldDrop(2 * TARGET)).isTrue();
+    assertThat(coDel.shouldDrop(TARGET / 2)).isFalse();
+    assertThat(coDel.shouldDrop(2 * TARGET)).isTrue();
+  }
+
+  @Test
+  public void testStopsDroppingAfterAnIntervalWithAShortWait() throws InterruptedException
+  {
+    CoDel coDel = new CoDel(Duration.ofMillis(10), Duration.ofMillis(100));
+    coDel.shouldDrop(2 * TARGET);
+    Thread.sleep(150);
+    assertThat(coDel.shouldDrop(2 * TARGET)).isTrue();
+    assertThat(coDel.shouldDrop(TARGET / 2)).isFalse();
+    Thread.sleep(150);
+    assertThat(coDel.shouldDrop(2 * TARGET)).isFalse();
+    assertThat(coDel.shouldDrop(2 * TARGET)).isFalse();
+  }
+}
@@ -0,0 +1,34 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestFairShareWeights
+{
+  @Test
+  public void testParsesClientWeights()
+  {
+    assertThat(FairShareExecutor.parseWeights(List.of("gold-key=4", " silver-key = 2 ")))
+      .containsExactlyInAnyOrderEntriesOf(Map.of("gold-key", 4, "silver-key", 2));
+  }
+
+  @Test
+  public void testRejectsMalformedWeights()
+  {
+    for (String weight : List.of("gold-key", "gold-key=", "gold-key=four", "gold-key=0", "gold-key=-1", "=4"))
+      assertThatIllegalArgumentException().isThrownBy(() -> FairShareExecutor.parseWeights(List.of(weight)))
+        .withMessageContaining(weight).withMessageContaining("positive integer");
+  }
+
+  @Test
+  public void testRejectsDuplicateClients()
+  {
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> FairShareExecutor.parseWeights(List.of("gold-key=4", "gold-key=2")))
+      .withMessageContaining("gold-key");
+  }
+}
@@ -0,0 +1,75 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import fr.simplex_software.workshop.executors.base.tests.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(FairPoolProfile.class)
+public class TestFairTimeResource extends BaseTimeResourceTest
+{
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Override
+  protected URL getTimeSrvURL()
+  {
+    return timeSrvUrl;
+  }
+
+  @Test
+  public void testImmediateRequestsSkipTheDelayedBacklog() throws Exception
+  {
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      List<Future<Response>> delayed = new ArrayList<>();
+      for (int i = 0; i < 3; i++)
+        delayed.add(clients.submit(() -> request("noisy", 2)));
+      Thread.sleep(300);
+      long start = System.nanoTime();
+      assertThat(request("quiet", 0).statusCode()).isEqualTo(HttpStatus.SC_OK);
+      assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+      for (Future<Response> response : delayed)
+        response.get();
+    }
+  }
+
+  @Test
+  public void testFullQueueEvictsTheLongestClient() throws Exception
+  {
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+    {
+      List<Future<Response>> noisy = new ArrayList<>();
+      for (int i = 0; i < 4; i++)
+        noisy.add(clients.submit(() -> request("noisy", 1)));
+      Thread.sleep(300);
+      Future<Response> quiet = clients.submit(() -> request("quiet", 1));
+      assertThat(quiet.get().statusCode()).isEqualTo(HttpStatus.SC_OK);
+      List<Integer> statuses = new ArrayList<>();
+      for (Future<Response> response : noisy)
+        statuses.add(response.get().statusCode());
+      assertThat(statuses).contains(HttpStatus.SC_OK, HttpStatus.SC_SERVICE_UNAVAILABLE);
+    }
+    assertThat(given().when().get(timeSrvUri.resolve("/q/metrics")).asString())
+      .contains("executors_fair_evicted_total{class=\"delayed\",module=\"time-async-direct\"}")
+      .contains("executors_fair_rejected_total{class=\"delayed\",module=\"time-async-direct\"}");
+  }
+
+  private Response request(String client, int delay)
+  {
+    return given().header("X-API-Key", client).queryParam("delay", delay).when().get(timeSrvUri);
+  }
+}
@@ -0,0 +1,102 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import fr.simplex_software.workshop.executors.base.*;
+import jakarta.ws.rs.core.*;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TestRejectionPolicy
+{
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final RecordingAsyncResponse queued = new RecordingAsyncResponse();
+  private final RecordingAsyncResponse rejected = new RecordingAsyncResponse();
+  private BoundedThreadPoolExecutor executor;
+
+  @AfterEach
+  public void afterEach() throws InterruptedException
+  {
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void testAbortRejectsTheNewTask() throws Exception
+  {
+    fill(RejectionPolicy.ABORT);
+    executor.execute(task(rejected));
+    assertServiceUnavailable(rejected);
+    release.countDown();
+    assertThat(queued.get()).isEqualTo("bounded-test");
+  }
+
+  @Test
+  public void testCallerRunsRunsTheNewTaskOnTheSubmittingThread() throws Exception
+  {
+    fill(RejectionPolicy.CALLER_RUNS);
+    executor.execute(task(rejected));
+    assertThat(rejected.get()).isEqualTo(Thread.currentThread().getName());
+    assertThat(queued.isResumed()).isFalse();
+  }
+
+  @Test
+  public void testCallerRunsRejectsOnTheTimerThread() throws Exception
+  {
+    fill(RejectionPolicy.CALLER_RUNS);
+    Delays.schedule(() -> executor.execute(task(rejected)), 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    assertServiceUnavailable(rejected);
+  }
+
+  @Test
+  public void testCallerRunsRejectsAfterShutdown() throws Exception
+  {
+    fill(RejectionPolicy.CALLER_RUNS);
+    executor.shutdown();
+    executor.execute(task(rejected));
+    assertServiceUnavailable(rejected);
+  }
+
+  @Test
+  public void testDiscardOldestRejectsTheQueuedTask() throws Exception
+  {
+    fill(RejectionPolicy.DISCARD_OLDEST);
+    executor.execute(task(rejected));
+    assertServiceUnavailable(queued);
+    release.countDown();
+    assertThat(rejected.get()).isEqualTo("bounded-test");
+  }
+
+  private void fill(RejectionPolicy policy)
+  {
+    executor = new BoundedThreadPoolExecutor(1, 1, policy, null);
+    executor.setThreadFactory(Thread.ofPlatform().name("bounded-test").factory());
+    executor.execute(() ->
+    {
+      try
+      {
+        release.await();
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+    });
+    executor.execute(task(queued));
+  }
+
+  private static TimeTask task(RecordingAsyncResponse response)
+  {
+    return new TimeTask("test", "default", "UTC", null, 0, () -> Thread.currentThread().getName(), 0, response,
+      Deadline.none("test"));
+  }
+
+  private static void assertServiceUnavailable(RecordingAsyncResponse response) throws Exception
+  {
+    assertThat(response.get()).isInstanceOfSatisfying(Response.class,
+      r -> assertThat(r.getStatus()).isEqualTo(Response.Status.SERVICE_UNAVAILABLE.getStatusCode()));
+  }
+}
@@ -0,0 +1,70 @@
+package fr.simplex_software.workshop.executors.async.thread_pool.tests;
+
+import fr.simplex_software.workshop.executors.async.thread_pool.*;
+import io.quarkus.test.common.http.*;
+import io.quarkus.test.junit.*;
+import jdk.jfr.*;
+import jdk.jfr.consumer.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(TaskRecordingProfile.class)
+public class TestTaskEvents
+{
+  private static final String PREFIX = "fr.simplex_software.workshop.executors.";
+
+  @TestHTTPEndpoint(TimeResource.class)
+  @TestHTTPResource
+  URL timeSrvUrl;
+
+  @Test
+  public void testRecordingStartsWithTheApplication()
+  {
+    assertThat(FlightRecorder.getFlightRecorder().getRecordings())
+      .anyMatch(recording -> recording.getName().equals("executors") && recording.getState() == RecordingState.RUNNING);
+  }
+
+  @Test
+  public void testTaskLifecycleEvents() throws Exception
+  {
+    Path file = Files.createTempFile("task-events", ".jfr");
+    try (Recording recording = new Recording())
+    {
+      for (String event : List.of("TaskSubmit", "TaskStart", "TaskEnd", "TaskResume"))
+        recording.enable(PREFIX + event).withThreshold(Duration.ZERO);
+      recording.start();
+      assertThat(given().queryParam("delay", 1).when().get(timeSrvUrl.toURI().resolve("time-async-direct/Europe%2FParis"))
+        .statusCode()).isEqualTo(HttpStatus.SC_OK);
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+      .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+      .filter(event -> "zone".equals(event.getString("endpoint")))
+      .toList();
+    assertThat(events).extracting(event -> event.getEventType().getName().substring(PREFIX.length()))
+      .containsExactlyInAnyOrder("TaskSubmit", "TaskStart", "TaskEnd", "TaskResume");
+    assertThat(events).allSatisfy(event ->
+    {
+      assertThat(event.getString("strategy")).isEqualTo("time-async-direct");
+      assertThat(event.getString("zone")).isEqualTo("Europe%2FParis");
+      assertThat(event.getDuration("delay")).isEqualTo(Duration.ofSeconds(1));
+    });
+    RecordedEvent end = events.stream().filter(event -> event.getEventType().getName().endsWith("TaskEnd"))
+      .findFirst().orElseThrow();
+    assertThat(end.getDuration("runTime")).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+    RecordedEvent resume = events.stream().filter(event -> event.getEventType().getName().endsWith("TaskResume"))
+      .findFirst().orElseThrow();
+    assertThat(resume.getInt("status")).isEqualTo(HttpStatus.SC_OK);
+    Files.delete(file);
+  }
+}
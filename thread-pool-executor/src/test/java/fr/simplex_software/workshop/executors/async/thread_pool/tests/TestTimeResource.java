@@ -4,9 +4,15 @@ import fr.simplex_software.workshop.executors.async.thread_pool.*;
 import fr.simplex_software.workshop.executors.base.tests.*;
 import io.quarkus.test.common.http.*;
 import io.quarkus.test.junit.*;
+import io.restassured.response.*;
+import org.apache.http.*;
+import org.junit.jupiter.api.*;
 
 import java.net.*;
 
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
 @QuarkusTest
 public class TestTimeResource extends BaseTimeResourceTest
 {
@@ -19,4 +25,31 @@ public class TestTimeResource extends BaseTimeResourceTest
   {
     return timeSrvUrl;
   }
+
+  @Test
+  public void testTimerDelayDoesNotHoldPoolThreads() throws Exception
+  {
+    assertTimerDelayDoesNotHoldPoolThreads();
+  }
+
+  @Test
+  public void testAdminEndpointsAreDisabledByDefault()
+  {
+    assertThat(given().baseUri(timeSrvUri.toString()).when().get("admin/limit").statusCode())
+      .isEqualTo(HttpStatus.SC_NOT_FOUND);
+    assertThat(given().baseUri(timeSrvUri.toString()).queryParam("value", 3).when().put("admin/limit").statusCode())
+      .isEqualTo(HttpStatus.SC_NOT_FOUND);
+  }
+
+  @Test
+  public void testMetrics()
+  {
+    assertThat(given().when().get(timeSrvUri).statusCode()).isEqualTo(HttpStatus.SC_OK);
+    Response response = given().when().get(timeSrvUri.resolve("/q/metrics"));
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.asString())
+      .contains("executors_tasks_completed_total{endpoint=\"default\",module=\"time-async-direct\"}")
+      .contains("executors_tasks_queue_wait_seconds{endpoint=\"default\",module=\"time-async-direct\",quantile=\"0.99\"}")
+      .contains("executors_pool_largest_size{executor=\"ThreadPoolExecutor\",module=\"time-async-direct\"}");
+  }
 }